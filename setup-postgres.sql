@@ -1,4 +1,17 @@
 -- Configuration PostgreSQL pour l'application SportManager
 ALTER USER postgres WITH PASSWORD 'postgres';
 CREATE DATABASE IF NOT EXISTS salle_sport_db OWNER postgres;
-GRANT ALL PRIVILEGES ON DATABASE salle_sport_db TO postgres;
\ No newline at end of file
+GRANT ALL PRIVILEGES ON DATABASE salle_sport_db TO postgres;
+
+-- Migration des identifiants de réservation de IDENTITY vers la séquence reservations_seq (pas de 50).
+-- Refaite automatiquement à chaque démarrage par ReservationSequenceInitializer ; ce script reste utile
+-- pour préparer une base avant un déploiement.
+CREATE SEQUENCE IF NOT EXISTS reservations_seq INCREMENT BY 50;
+SELECT setval('reservations_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM reservations));
+ALTER TABLE reservations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Index des revenus du tableau de bord (statut = 'CONFIRMEE' AND date_debut dans [debut, fin[)
+CREATE INDEX IF NOT EXISTS idx_reservations_statut_date_debut ON reservations (statut, date_debut);
+
+-- Index des réservations récentes (ORDER BY date_creation DESC, id DESC LIMIT n)
+CREATE INDEX IF NOT EXISTS idx_reservations_date_creation_id ON reservations (date_creation, id);
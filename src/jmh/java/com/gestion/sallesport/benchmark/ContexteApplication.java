@@ -0,0 +1,69 @@
+package com.gestion.sallesport.benchmark;
+
+import com.gestion.sallesport.SalleSportApplication;
+import com.gestion.sallesport.config.CacheConfig;
+import com.gestion.sallesport.service.ReservationConflictIndex;
+import com.gestion.sallesport.service.ReservationDailyStatsService;
+import com.gestion.sallesport.service.SalleAvailabilityIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Application complète sur H2 en mémoire, alimentée par JeuDeDonnees avant la mesure.
+// Taille du jeu : -Djmh.tailles=10000,100000,1000000 (un fork JMH par valeur, donc une base neuve par taille).
+@State(Scope.Benchmark)
+public class ContexteApplication {
+
+    @Param({"10000", "100000"})
+    public int taille;
+
+    private ConfigurableApplicationContext contexte;
+    private JeuDeDonnees jeuDeDonnees;
+
+    @Setup(Level.Trial)
+    public void demarrer() {
+        contexte = new SpringApplicationBuilder(SalleSportApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        jeuDeDonnees = new JeuDeDonnees(bean(JdbcTemplate.class), taille);
+        jeuDeDonnees.inserer();
+
+        // Les index mémoire et les agrégats ont été construits au démarrage, avant l'insertion du jeu
+        bean(ReservationConflictIndex.class).reconstruire();
+        bean(SalleAvailabilityIndex.class).reconstruire();
+        bean(ReservationDailyStatsService.class).reconstruire();
+        bean(CacheManager.class).getCache(CacheConfig.CATALOGUE_SALLES).clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void arreter() {
+        contexte.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return contexte.getBean(type);
+    }
+
+    public JeuDeDonnees jeuDeDonnees() {
+        return jeuDeDonnees;
+    }
+}
@@ -0,0 +1,93 @@
+package com.gestion.sallesport.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Jeu de données généré dans H2 par INSERT ... SELECT sur SYSTEM_RANGE (1M lignes en quelques secondes).
+// Chaque salle reçoit des créneaux de 2 h toutes les 3 h, la moitié dans le passé et la moitié dans le futur :
+// pas de chevauchement entre réservations d'une même salle, comme en production.
+// Statuts : 80 % CONFIRMEE, 10 % EN_ATTENTE, 10 % ANNULEE. Identifiants décalés pour ne pas croiser
+// ceux de DataInitializer ni ceux des séquences Hibernate.
+public class JeuDeDonnees {
+
+    static final long DECALAGE_ID_SALLE_CLIENT = 1_000_000L;
+    static final long DECALAGE_ID_RESERVATION = 1_000_000_000L;
+    static final int ECART_CRENEAUX_HEURES = 3;
+    static final int DUREE_CRENEAU_HEURES = 2;
+    static final double PRIX_HEURE = 25000.0;
+
+    private static final DateTimeFormatter FORMAT_SQL = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int nombreReservations;
+    private final int nombreSalles;
+    private final int nombreClients;
+    private final LocalDateTime origine;
+
+    public JeuDeDonnees(JdbcTemplate jdbcTemplate, int nombreReservations) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nombreReservations = nombreReservations;
+        this.nombreSalles = Math.max(10, nombreReservations / 5000);
+        this.nombreClients = Math.max(100, nombreReservations / 20);
+        long creneauxParSalle = (long) nombreReservations / nombreSalles;
+        this.origine = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                .minusHours(creneauxParSalle / 2 * ECART_CRENEAUX_HEURES);
+    }
+
+    public void inserer() {
+        jdbcTemplate.update("INSERT INTO salles (id, nom, type, capacite, prix_heure, disponible) " +
+                "SELECT " + DECALAGE_ID_SALLE_CLIENT + " + X, 'Salle banc ' || X, 'Musculation', 20, " + PRIX_HEURE + ", TRUE " +
+                "FROM SYSTEM_RANGE(1, " + nombreSalles + ")");
+
+        jdbcTemplate.update("INSERT INTO clients (id, nom, prenom, email, telephone, date_inscription, type_abonnement) " +
+                "SELECT " + DECALAGE_ID_SALLE_CLIENT + " + X, 'Client' || X, 'Banc', 'banc' || X || '@exemple.mg', " +
+                "'034' || LPAD(CAST(X AS VARCHAR), 7, '0'), CURRENT_DATE, 'MENSUEL' " +
+                "FROM SYSTEM_RANGE(1, " + nombreClients + ")");
+
+        String origineSql = "TIMESTAMP '" + FORMAT_SQL.format(origine) + "'";
+        jdbcTemplate.update("INSERT INTO reservations " +
+                "(id, client_id, salle_id, date_debut, date_fin, prix_total, statut, date_creation) " +
+                "SELECT " + DECALAGE_ID_RESERVATION + " + X, " +
+                DECALAGE_ID_SALLE_CLIENT + " + MOD(X, " + nombreClients + ") + 1, " +
+                DECALAGE_ID_SALLE_CLIENT + " + MOD(X, " + nombreSalles + ") + 1, " +
+                "DATEADD('HOUR', (X / " + nombreSalles + ") * " + ECART_CRENEAUX_HEURES + ", " + origineSql + "), " +
+                "DATEADD('HOUR', (X / " + nombreSalles + ") * " + ECART_CRENEAUX_HEURES + " + " + DUREE_CRENEAU_HEURES + ", " + origineSql + "), " +
+                (DUREE_CRENEAU_HEURES * PRIX_HEURE) + ", " +
+                "CASE MOD(X, 10) WHEN 0 THEN 'ANNULEE' WHEN 1 THEN 'EN_ATTENTE' ELSE 'CONFIRMEE' END, " +
+                "DATEADD('DAY', -10, DATEADD('HOUR', (X / " + nombreSalles + ") * " + ECART_CRENEAUX_HEURES + ", " + origineSql + ")) " +
+                "FROM SYSTEM_RANGE(0, " + (nombreReservations - 1) + ")");
+
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    public List<Long> salleIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM salles WHERE id > ? ORDER BY id", Long.class,
+                DECALAGE_ID_SALLE_CLIENT);
+    }
+
+    // Créneaux confirmés à venir : cibles des tentatives de réservation en conflit
+    public List<Creneau> creneauxConfirmesFuturs(int limite) {
+        return jdbcTemplate.query("SELECT salle_id, date_debut, date_fin FROM reservations " +
+                        "WHERE id > ? AND statut = 'CONFIRMEE' AND date_debut > ? ORDER BY date_debut LIMIT ?",
+                (rs, i) -> new Creneau(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(),
+                        rs.getTimestamp(3).toLocalDateTime()),
+                DECALAGE_ID_RESERVATION, LocalDateTime.now().plusHours(1), limite);
+    }
+
+    // Premier instant après tous les créneaux générés : zone libre pour les réservations sans conflit
+    public LocalDateTime finDuJeu() {
+        long creneauxParSalle = (long) nombreReservations / nombreSalles + 1;
+        return origine.plusHours(creneauxParSalle * ECART_CRENEAUX_HEURES);
+    }
+
+    public int nombreReservations() {
+        return nombreReservations;
+    }
+
+    public record Creneau(Long salleId, LocalDateTime dateDebut, LocalDateTime dateFin) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.gestion.sallesport.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Latence d'un hachage (création d'utilisateur) et d'une vérification (connexion) par algorithme et coût,
+// pour choisir securite.mot-de-passe.bcrypt-cout : viser quelques dizaines de ms par connexion.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String MOT_DE_PASSE = "admin123-Salle!";
+
+    // bcrypt-<coût> ou argon2 (paramètres par défaut de Spring Security 5.8)
+    @Param({"bcrypt-8", "bcrypt-10", "bcrypt-12", "bcrypt-14", "argon2"})
+    private String encodeur;
+
+    private PasswordEncoder passwordEncoder;
+    private String hachage;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        passwordEncoder = encodeur.equals("argon2")
+                ? Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+                : new BCryptPasswordEncoder(Integer.parseInt(encodeur.substring("bcrypt-".length())));
+        hachage = passwordEncoder.encode(MOT_DE_PASSE);
+    }
+
+    @Benchmark
+    public String encoder() {
+        return passwordEncoder.encode(MOT_DE_PASSE);
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return passwordEncoder.matches(MOT_DE_PASSE, hachage);
+    }
+}
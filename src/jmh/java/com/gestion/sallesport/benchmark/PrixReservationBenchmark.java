@@ -0,0 +1,45 @@
+package com.gestion.sallesport.benchmark;
+
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Calcul du prix d'une réservation (@PrePersist / @PreUpdate), sans base de données
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrixReservationBenchmark {
+
+    private Reservation reservation;
+
+    @Setup
+    public void preparer() {
+        Salle salle = new Salle();
+        salle.setPrixHeure(25000.0);
+        reservation = new Reservation();
+        reservation.setSalle(salle);
+        reservation.setDateDebut(LocalDateTime.of(2030, 3, 1, 9, 0));
+        reservation.setDateFin(LocalDateTime.of(2030, 3, 1, 11, 30));
+    }
+
+    @Benchmark
+    public Double calculerPrixTotal() {
+        reservation.calculerPrixTotal();
+        return reservation.getPrixTotal();
+    }
+}
@@ -0,0 +1,125 @@
+package com.gestion.sallesport.benchmark;
+
+import com.gestion.sallesport.dto.FiltreReservation;
+import com.gestion.sallesport.dto.Granularite;
+import com.gestion.sallesport.dto.ReservationStatistics;
+import com.gestion.sallesport.dto.RevenuPeriode;
+import com.gestion.sallesport.dto.SallePopulaire;
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import com.gestion.sallesport.service.DashboardService;
+import com.gestion.sallesport.service.ReservationService;
+import com.gestion.sallesport.service.SalleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Chemins chauds des réservations sur l'application complète (H2, jeu de données de ContexteApplication).
+// Résultats JSON : target/jmh-resultats.json (voir le profil benchmarks du pom), à comparer entre versions.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReservationServicesBenchmark {
+
+    private ReservationService reservationService;
+    private SalleService salleService;
+    private DashboardService dashboardService;
+    private TransactionTemplate transactionTemplate;
+
+    private List<JeuDeDonnees.Creneau> creneauxOccupes;
+    private List<Salle> salles;
+    private Client client;
+    private LocalDateTime zoneLibre;
+    private int tour;
+
+    @Setup(Level.Trial)
+    public void preparer(ContexteApplication contexte) {
+        reservationService = contexte.bean(ReservationService.class);
+        salleService = contexte.bean(SalleService.class);
+        dashboardService = contexte.bean(DashboardService.class);
+        transactionTemplate = contexte.bean(TransactionTemplate.class);
+
+        JeuDeDonnees jeu = contexte.jeuDeDonnees();
+        creneauxOccupes = jeu.creneauxConfirmesFuturs(1000);
+        List<Long> salleIds = jeu.salleIds();
+        salles = contexte.bean(SalleRepository.class).findAllById(salleIds);
+        client = contexte.bean(ClientRepository.class).findByEmail("banc1@exemple.mg").orElseThrow();
+        zoneLibre = jeu.finDuJeu().plusDays(1);
+    }
+
+    // Tentative sur un créneau déjà confirmé : index mémoire + garde-fou en base, puis refus
+    @Benchmark
+    public boolean creerReservationEnConflit() {
+        JeuDeDonnees.Creneau creneau = creneauxOccupes.get(tour++ % creneauxOccupes.size());
+        Salle salle = salles.stream().filter(s -> s.getId().equals(creneau.salleId())).findFirst().orElseThrow();
+        try {
+            reservationService.createReservation(nouvelleReservation(salle, creneau.dateDebut().plusMinutes(30),
+                    creneau.dateFin().plusMinutes(30)));
+            return false;
+        } catch (RuntimeException conflit) {
+            return true;
+        }
+    }
+
+    // Réservation acceptée puis annulée par rollback : la base et les index restent identiques d'une itération à l'autre
+    @Benchmark
+    public Reservation creerReservationSansConflit() {
+        Salle salle = salles.get(tour % salles.size());
+        LocalDateTime debut = zoneLibre.plusHours(tour++ % 1000);
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return reservationService.createReservation(nouvelleReservation(salle, debut, debut.plusHours(1)));
+        });
+    }
+
+    @Benchmark
+    public List<Salle> sallesAvecOccupation() {
+        return salleService.getAllSalles();
+    }
+
+    @Benchmark
+    public List<SallePopulaire> dashboardSallesPopulaires() {
+        return dashboardService.sallesPopulaires(5);
+    }
+
+    @Benchmark
+    public List<RevenuPeriode> dashboardRevenusParMois() {
+        LocalDate fin = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+        return dashboardService.revenuParPeriode(fin.minusMonths(12), fin, Granularite.MOIS);
+    }
+
+    @Benchmark
+    public ReservationStatistics statistiquesReservations() {
+        return reservationService.getStatistiques(FiltreReservation.aucun(), null, null);
+    }
+
+    private Reservation nouvelleReservation(Salle salle, LocalDateTime debut, LocalDateTime fin) {
+        Reservation reservation = new Reservation();
+        reservation.setClient(client);
+        reservation.setSalle(salle);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setStatut(Reservation.StatutReservation.CONFIRMEE);
+        return reservation;
+    }
+}
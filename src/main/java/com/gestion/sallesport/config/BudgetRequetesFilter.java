@@ -0,0 +1,45 @@
+package com.gestion.sallesport.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Profil dev : avertit quand une requête HTTP (rendu de la vue compris) dépasse son budget d'instructions SQL,
+// avec les formes de requêtes fautives (une forme répétée N fois trahit un N+1)
+@Component
+@Profile("dev")
+@Slf4j
+public class BudgetRequetesFilter extends OncePerRequestFilter {
+
+    @Value("${sql.budget.defaut:10}")
+    private int budgetDefaut = 10;
+
+    // Budgets par chemin exact, ex. sql.budget.chemins={'/dashboard': 5}
+    @Value("#{${sql.budget.chemins:{:}}}")
+    private Map<String, Integer> budgetsParChemin = Map.of();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompteurRequetesSql.demarrer();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CompteurRequetesSql.Mesure mesure = CompteurRequetesSql.arreter();
+            int budget = budgetsParChemin.getOrDefault(request.getRequestURI(), budgetDefaut);
+            if (mesure.nombre() > budget) {
+                log.warn("{} {} : budget de {} requêtes dépassé, {}", request.getMethod(), request.getRequestURI(),
+                        budget, mesure.resume());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.gestion.sallesport.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Caches applicatifs Caffeine : bornés en taille et en durée, avec statistiques de hits/miss.
+// Les noms sont déclarés explicitement : un cache non listé ici n'est pas créé à la volée.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Listes immuables du catalogue des salles (CatalogueSalles), invalidées par les écritures de SalleService
+    public static final String CATALOGUE_SALLES = "catalogueSalles";
+
+    // UserDetails des utilisateurs authentifiés (clé : username), invalidés par UserService
+    public static final String UTILISATEURS = "utilisateurs";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.salles.taille-max:500}") long tailleMax,
+                                     @Value("${cache.salles.ttl-minutes:60}") long ttlMinutes,
+                                     @Value("${cache.utilisateurs.taille-max:500}") long tailleMaxUtilisateurs,
+                                     @Value("${cache.utilisateurs.ttl-minutes:15}") long ttlMinutesUtilisateurs) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CATALOGUE_SALLES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(tailleMax)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(UTILISATEURS, Caffeine.newBuilder()
+                .maximumSize(tailleMaxUtilisateurs)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutesUtilisateurs))
+                .recordStats()
+                .build());
+        // Évictions et mises en cache différées après le commit de la transaction en cours :
+        // une lecture concurrente ne peut pas remettre en cache des lignes pas encore validées
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,17 @@
+package com.gestion.sallesport.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Branche CompteurRequetesSql sur Hibernate : utilisé par les tests de budget de requêtes
+// et, en profil dev, par BudgetRequetesFilter
+@Configuration
+public class CompteurRequetesConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer compteurRequetesSql() {
+        return proprietes -> proprietes.put(AvailableSettings.STATEMENT_INSPECTOR, new CompteurRequetesSql());
+    }
+}
@@ -0,0 +1,93 @@
+package com.gestion.sallesport.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Compte les instructions SQL émises par Hibernate sur le thread courant, entre demarrer() et arreter().
+// Contrairement aux Statistics de la SessionFactory (globales), deux requêtes HTTP simultanées ne se mélangent pas.
+// Hors mesure, le coût se limite à une lecture de ThreadLocal par instruction.
+public class CompteurRequetesSql implements StatementInspector {
+
+    private static final ThreadLocal<Mesure> MESURE_COURANTE = new ThreadLocal<>();
+
+    public static Mesure demarrer() {
+        Mesure mesure = new Mesure();
+        MESURE_COURANTE.set(mesure);
+        return mesure;
+    }
+
+    public static Mesure arreter() {
+        Mesure mesure = MESURE_COURANTE.get();
+        MESURE_COURANTE.remove();
+        return mesure != null ? mesure : new Mesure();
+    }
+
+    // Rattache la mesure du thread appelant à une tâche exécutée sur un autre thread (composition parallèle)
+    public static <T> Supplier<T> propager(Supplier<T> tache) {
+        Mesure mesure = MESURE_COURANTE.get();
+        if (mesure == null) {
+            return tache;
+        }
+        return () -> {
+            Mesure precedente = MESURE_COURANTE.get();
+            MESURE_COURANTE.set(mesure);
+            try {
+                return tache.get();
+            } finally {
+                if (precedente != null) {
+                    MESURE_COURANTE.set(precedente);
+                } else {
+                    MESURE_COURANTE.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Mesure mesure = MESURE_COURANTE.get();
+        if (mesure != null) {
+            mesure.enregistrer(sql);
+        }
+        return sql;
+    }
+
+    // Forme d'une requête : espaces normalisés et listes IN (?, ?, ...) réduites, pour regrouper les N+1
+    static String forme(String sql) {
+        return sql.replaceAll("\\s+", " ")
+                .replaceAll("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)", "(?...)")
+                .trim();
+    }
+
+    // Partagée entre threads quand la mesure est propagée : accès synchronisés
+    public static final class Mesure {
+
+        private int nombre;
+        private final Map<String, Integer> nombreParForme = new LinkedHashMap<>();
+
+        synchronized void enregistrer(String sql) {
+            nombre++;
+            nombreParForme.merge(forme(sql), 1, Integer::sum);
+        }
+
+        public synchronized int nombre() {
+            return nombre;
+        }
+
+        // Dans l'ordre de première exécution
+        public synchronized Map<String, Integer> nombreParForme() {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(nombreParForme));
+        }
+
+        public synchronized String resume() {
+            StringBuilder resume = new StringBuilder(nombre + " instructions SQL");
+            nombreParForme.forEach((forme, fois) -> resume.append(System.lineSeparator())
+                    .append("  ").append(fois).append(" x ").append(forme));
+            return resume.toString();
+        }
+    }
+}
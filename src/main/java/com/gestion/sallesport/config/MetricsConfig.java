@@ -0,0 +1,24 @@
+package com.gestion.sallesport.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Métriques Micrometer, exportées au format Prometheus par /actuator/prometheus.
+// Fournies par Spring Boot : requêtes HTTP, pool Hikari (hikaricp.*), requêtes des repositories
+// (spring.data.repository.invocations, par repository et méthode), caches et JVM.
+@Configuration
+public class MetricsConfig {
+
+    // Durée des méthodes publiques des services annotés @Timed (tags class et method)
+    public static final String TIMER_SERVICES = "sallesport.service";
+
+    // Réservations refusées pour chevauchement (tag detection : serie, index, base, contrainte)
+    public static final String COMPTEUR_CONFLITS = "sallesport.reservations.conflits";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
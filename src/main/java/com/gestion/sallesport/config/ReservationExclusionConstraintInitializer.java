@@ -0,0 +1,66 @@
+package com.gestion.sallesport.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Mode "contrainte" : PostgreSQL garantit lui-même l'absence de chevauchement des réservations confirmées.
+// La colonne periode est calculée à partir de date_debut/date_fin (timestamp sans fuseau, d'où tsrange),
+// bornes incluses comme findConflictingReservations. Les scripts sont idempotents.
+@Component
+@ConditionalOnProperty(name = "reservation.conflits.mode", havingValue = "contrainte")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExclusionConstraintInitializer implements ApplicationRunner {
+
+    public static final String NOM_CONTRAINTE = "reservations_sans_chevauchement";
+
+    private static final int CHEVAUCHEMENTS_AFFICHES = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+
+        jdbcTemplate.execute("ALTER TABLE reservations ADD COLUMN IF NOT EXISTS periode tsrange " +
+                "GENERATED ALWAYS AS (tsrange(date_debut, date_fin, '[]')) STORED");
+
+        Boolean existe = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)", Boolean.class, NOM_CONTRAINTE);
+        if (!Boolean.TRUE.equals(existe)) {
+            verifierAbsenceDeChevauchements();
+            jdbcTemplate.execute("ALTER TABLE reservations ADD CONSTRAINT " + NOM_CONTRAINTE + " " +
+                    "EXCLUDE USING gist (salle_id WITH =, periode WITH &&) WHERE (statut = 'CONFIRMEE')");
+        }
+
+        log.info("Contrainte d'exclusion {} active sur la table reservations", NOM_CONTRAINTE);
+    }
+
+    // Des réservations confirmées qui se chevauchent déjà feraient échouer l'ajout de la contrainte
+    // sans indiquer lesquelles : on les liste et on arrête le démarrage avec un message exploitable
+    private void verifierAbsenceDeChevauchements() {
+        List<String> chevauchements = jdbcTemplate.query(
+                "SELECT a.salle_id, a.id AS premiere, b.id AS seconde FROM reservations a " +
+                        "JOIN reservations b ON b.salle_id = a.salle_id AND b.id > a.id AND b.periode && a.periode " +
+                        "WHERE a.statut = 'CONFIRMEE' AND b.statut = 'CONFIRMEE' " +
+                        "ORDER BY a.salle_id, a.id, b.id LIMIT " + CHEVAUCHEMENTS_AFFICHES,
+                (rs, i) -> "salle " + rs.getLong("salle_id") + " : réservations n°" + rs.getLong("premiere")
+                        + " et n°" + rs.getLong("seconde"));
+        if (!chevauchements.isEmpty()) {
+            chevauchements.forEach(chevauchement -> log.error("Réservations confirmées en conflit, {}", chevauchement));
+            throw new IllegalStateException("Impossible d'ajouter la contrainte " + NOM_CONTRAINTE
+                    + " : des réservations confirmées se chevauchent déjà (" + String.join(" ; ", chevauchements)
+                    + "). Annulez ou déplacez-les, ou repassez en reservation.conflits.mode=application.");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gestion.sallesport.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Les identifiants de réservation viennent de la séquence reservations_seq (pas de 50) et non plus d'une
+// colonne IDENTITY. Sur une base existante, ddl-auto=update crée la séquence à partir de 1, en collision
+// avec les identifiants déjà attribués : elle est recalée au-dessus de MAX(id) à chaque démarrage, avant
+// toute insertion. setval ne fait jamais reculer la séquence. Les scripts sont idempotents (PostgreSQL uniquement).
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationSequenceInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String base = jdbcTemplate.execute((ConnectionCallback<String>) connexion ->
+                connexion.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(base)) {
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS reservations_seq INCREMENT BY 50");
+        jdbcTemplate.execute("ALTER TABLE reservations ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        Long valeur = jdbcTemplate.queryForObject("SELECT setval('reservations_seq', GREATEST(" +
+                "(SELECT COALESCE(MAX(id), 0) FROM reservations), " +
+                "(SELECT last_value FROM reservations_seq)))", Long.class);
+
+        log.info("Séquence reservations_seq recalée : prochains identifiants au-delà de {}", valeur);
+    }
+}
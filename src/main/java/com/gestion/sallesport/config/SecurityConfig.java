@@ -1,38 +1,77 @@
 package com.gestion.sallesport.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.DefaultAuthenticationEventPublisher;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    // Algorithme des nouveaux hachages : bcrypt ou argon2 (Bouncy Castle)
+    @Value("${securite.mot-de-passe.algorithme:bcrypt}")
+    private String algorithmeMotDePasse = "bcrypt";
+
+    @Value("${securite.mot-de-passe.bcrypt-cout:10}")
+    private int coutBcrypt = 10;
+
+    // Les hachages sont préfixés par leur algorithme ({bcrypt}, {argon2}) ; ceux créés avant ce préfixe
+    // sont des BCrypt nus. upgradeEncoding signale les hachages d'un autre algorithme ou d'un coût inférieur.
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(coutBcrypt);
+        Map<String, PasswordEncoder> encodeurs = new HashMap<>();
+        encodeurs.put("bcrypt", bcrypt);
+        encodeurs.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        DelegatingPasswordEncoder encodeur = new DelegatingPasswordEncoder(algorithmeMotDePasse, encodeurs);
+        encodeur.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encodeur;
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+    public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                            UserDetailsPasswordService userDetailsPasswordService,
+                                                            CacheManager cacheManager) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Réécrit le hachage stocké à la première connexion réussie après un changement d'algorithme ou de coût
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
+        // Les UserDetails sont relus dans le cache ; seul un échec de mot de passe force un rechargement
+        authProvider.setUserCache(new SpringCacheBasedUserCache(cacheManager.getCache(CacheConfig.UTILISATEURS)));
         return authProvider;
     }
 
+    // Publie AuthenticationSuccessEvent (dernière connexion) même sans l'auto-configuration de sécurité
+    @Bean
+    public AuthenticationEventPublisher authenticationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        return new DefaultAuthenticationEventPublisher(applicationEventPublisher);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
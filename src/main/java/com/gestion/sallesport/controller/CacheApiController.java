@@ -0,0 +1,63 @@
+package com.gestion.sallesport.controller;
+
+import com.gestion.sallesport.dto.StatistiquesCache;
+import com.gestion.sallesport.dto.StatistiquesRegion;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheApiController {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Statistiques Caffeine de chaque cache applicatif
+    @GetMapping("/statistiques")
+    public List<StatistiquesCache> statistiques() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .map(CacheApiController::cible)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> StatistiquesCache.of(cache.getName(),
+                        cache.getNativeCache().estimatedSize(),
+                        cache.getNativeCache().stats()))
+                .toList();
+    }
+
+    // Le gestionnaire transactionnel enveloppe chaque cache Caffeine dans un décorateur
+    private static Cache cible(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorateur ? decorateur.getTargetCache() : cache;
+    }
+
+    // Statistiques du cache de second niveau Hibernate, par région (entités et cache de requêtes)
+    @GetMapping("/hibernate")
+    public List<StatistiquesRegion> statistiquesHibernate() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(nom -> {
+                    CacheRegionStatistics region = statistics.getCacheRegionStatistics(nom);
+                    return region != null ? StatistiquesRegion.of(nom, region) : null;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
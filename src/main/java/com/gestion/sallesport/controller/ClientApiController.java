@@ -0,0 +1,27 @@
+package com.gestion.sallesport.controller;
+
+import com.gestion.sallesport.event.FicheClient;
+import com.gestion.sallesport.service.ClientService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/clients")
+@RequiredArgsConstructor
+public class ClientApiController {
+
+    private final ClientService clientService;
+
+    // Saisie semi-automatique de l'accueil : meilleurs clients pour les préfixes tapés.
+    // Limite bornée comme les autres listes paginées ; le service applique en plus sa limite configurée
+    @GetMapping("/recherche")
+    public List<FicheClient> rechercher(@RequestParam String q,
+                                        @RequestParam(defaultValue = "10") int limite) {
+        return clientService.rechercherFiches(q, Math.max(1, Math.min(limite, ClientService.TAILLE_PAGE_MAX)));
+    }
+}
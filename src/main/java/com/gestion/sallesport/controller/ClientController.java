@@ -4,43 +4,35 @@ import com.gestion.sallesport.entity.Client;
 import com.gestion.sallesport.service.ClientService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
 @RequestMapping("/clients")
 @RequiredArgsConstructor
+@Slf4j
 public class ClientController {
 
     private final ClientService clientService;
 
     @GetMapping
-    public String listClients(Model model) {
-        var clients = clientService.getAllClients();
-        model.addAttribute("clients", clients);
-        
-        // Calculate statistics using Java Stream API
-        long nombreAbonnesAnnuels = clients.stream()
-            .filter(client -> client.getTypeAbonnement() == Client.TypeAbonnement.ANNUEL)
-            .count();
-            
-        long nombreAbonnesMensuels = clients.stream()
-            .filter(client -> client.getTypeAbonnement() == Client.TypeAbonnement.MENSUEL)
-            .count();
-            
-        long nouveauxCeMois = clients.stream()
-            .filter(client -> client.getDateInscription() != null && 
-                            client.getDateInscription().getMonth() == java.time.LocalDate.now().getMonth() &&
-                            client.getDateInscription().getYear() == java.time.LocalDate.now().getYear())
-            .count();
-        
-        model.addAttribute("nombreAbonnesAnnuels", nombreAbonnesAnnuels);
-        model.addAttribute("nombreAbonnesMensuels", nombreAbonnesMensuels);
-        model.addAttribute("nouveauxCeMois", nouveauxCeMois);
-        
+    public String listClients(@RequestParam(required = false) Client.TypeAbonnement type,
+                              @RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "20") int taille,
+                              Model model) {
+        var resultat = clientService.getClientsPage(type, page, taille);
+        model.addAttribute("clients", resultat.getContent());
+        model.addAttribute("type", type);
+        model.addAttribute("page", resultat.getNumber());
+        model.addAttribute("taille", resultat.getSize());
+        model.addAttribute("pageSuivante", resultat.hasNext());
+        ajouterStatistiques(model);
+
         return "clients/list";
     }
 
@@ -95,24 +87,23 @@ public class ClientController {
                                BindingResult result,
                                Model model,
                                RedirectAttributes redirectAttributes) {
-        System.out.println("=== MISE A JOUR CLIENT ===");
-        System.out.println("ID du client à modifier: " + id);
-        System.out.println("Données reçues: " + client);
-        System.out.println("Erreurs de validation: " + result.hasErrors());
-        
+        // Identifiant seulement : le client porte des données personnelles (nom, email, téléphone)
+        log.debug("Mise à jour du client {}", id);
+
         if (result.hasErrors()) {
-            System.out.println("Erreurs: " + result.getAllErrors());
+            log.debug("Mise à jour du client {} refusée, champs invalides : {}", id,
+                    result.getFieldErrors().stream().map(FieldError::getField).toList());
             model.addAttribute("typesAbonnement", Client.TypeAbonnement.values());
             return "clients/form";
         }
         
         try {
             Client updatedClient = clientService.updateClient(id, client);
-            System.out.println("Client modifié avec succès: " + updatedClient);
+            log.info("Client {} modifié", updatedClient.getId());
             redirectAttributes.addFlashAttribute("successMessage", "Client modifié avec succès!");
             return "redirect:/clients";
         } catch (RuntimeException e) {
-            System.out.println("Erreur lors de la modification: " + e.getMessage());
+            log.warn("Erreur lors de la modification du client {} : {}", id, e.getMessage());
             model.addAttribute("errorMessage", e.getMessage());
             model.addAttribute("typesAbonnement", Client.TypeAbonnement.values());
             return "clients/form";
@@ -128,32 +119,22 @@ public class ClientController {
 
     @GetMapping("/search")
     public String searchClients(@RequestParam(required = false) String term, Model model) {
-        var clients = (term != null && !term.isEmpty()) 
-            ? clientService.searchClients(term) 
-            : clientService.getAllClients();
-            
-        model.addAttribute("clients", clients);
+        if (term == null || term.isBlank()) {
+            return "redirect:/clients";
+        }
+        model.addAttribute("clients", clientService.searchClients(term));
         model.addAttribute("searchTerm", term);
-        
-        // Calculate statistics using Java Stream API
-        long nombreAbonnesAnnuels = clients.stream()
-            .filter(client -> client.getTypeAbonnement() == Client.TypeAbonnement.ANNUEL)
-            .count();
-            
-        long nombreAbonnesMensuels = clients.stream()
-            .filter(client -> client.getTypeAbonnement() == Client.TypeAbonnement.MENSUEL)
-            .count();
-            
-        long nouveauxCeMois = clients.stream()
-            .filter(client -> client.getDateInscription() != null && 
-                            client.getDateInscription().getMonth() == java.time.LocalDate.now().getMonth() &&
-                            client.getDateInscription().getYear() == java.time.LocalDate.now().getYear())
-            .count();
-        
-        model.addAttribute("nombreAbonnesAnnuels", nombreAbonnesAnnuels);
-        model.addAttribute("nombreAbonnesMensuels", nombreAbonnesMensuels);
-        model.addAttribute("nouveauxCeMois", nouveauxCeMois);
-        
+        ajouterStatistiques(model);
+
         return "clients/list";
     }
-}
\ No newline at end of file
+
+    // Statistiques de tous les clients calculées en base, indépendantes de la page affichée
+    private void ajouterStatistiques(Model model) {
+        var statistiques = clientService.getStatistiques();
+        model.addAttribute("totalClients", statistiques.getTotal());
+        model.addAttribute("nombreAbonnesAnnuels", statistiques.getNombreAbonnesAnnuels());
+        model.addAttribute("nombreAbonnesMensuels", statistiques.getNombreAbonnesMensuels());
+        model.addAttribute("nouveauxCeMois", statistiques.getNouveaux());
+    }
+}
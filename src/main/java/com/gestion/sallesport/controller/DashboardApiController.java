@@ -0,0 +1,40 @@
+package com.gestion.sallesport.controller;
+
+import com.gestion.sallesport.dto.Granularite;
+import com.gestion.sallesport.dto.RevenuPeriode;
+import com.gestion.sallesport.dto.StatistiquesSalle;
+import com.gestion.sallesport.service.DashboardService;
+import com.gestion.sallesport.service.SalleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardApiController {
+
+    private final DashboardService dashboardService;
+    private final SalleService salleService;
+
+    // Revenus confirmés sur [debut, fin[ découpés par jour, semaine ou mois
+    @GetMapping("/revenus")
+    public List<RevenuPeriode> revenus(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin,
+                                       @RequestParam(defaultValue = "MOIS") Granularite granularite) {
+        return dashboardService.revenuParPeriode(debut, fin, granularite);
+    }
+
+    // Cumul par salle sur [debut, fin[
+    @GetMapping("/salles")
+    public List<StatistiquesSalle> statistiquesSalles(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin) {
+        return salleService.getStatistiquesSalles(debut, fin);
+    }
+}
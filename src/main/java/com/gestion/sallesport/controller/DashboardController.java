@@ -1,56 +1,41 @@
 package com.gestion.sallesport.controller;
 
-import com.gestion.sallesport.entity.Reservation;
-import com.gestion.sallesport.entity.Salle;
-import com.gestion.sallesport.service.DashboardService;
-import com.gestion.sallesport.service.ReservationService;
-import com.gestion.sallesport.service.SalleService;
+import com.gestion.sallesport.dto.CompteursTableauDeBord;
+import com.gestion.sallesport.dto.TableauDeBord;
+import com.gestion.sallesport.service.DashboardCompositionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import java.util.Comparator;
-import java.util.List;
-
 @Controller
 @RequiredArgsConstructor
 public class DashboardController {
 
-    private final DashboardService dashboardService;
-    private final ReservationService reservationService;
-    private final SalleService salleService;
+    private final DashboardCompositionService compositionService;
 
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
+        // Widgets calculés en parallèle ; ceux qui n'ont pas répondu à temps restent vides
+        TableauDeBord tableau = compositionService.composer();
+
         // Stats cards
-        model.addAttribute("totalClients", dashboardService.countClients());
-        model.addAttribute("totalSalles", dashboardService.countSalles());
-        model.addAttribute("totalReservations", dashboardService.countReservations());
-        model.addAttribute("revenueMonth", dashboardService.revenueMonth());
+        CompteursTableauDeBord compteurs = tableau.getCompteurs();
+        if (compteurs != null) {
+            model.addAttribute("totalClients", compteurs.clients());
+            model.addAttribute("totalSalles", compteurs.salles());
+            model.addAttribute("totalReservations", compteurs.reservations());
+        }
+        model.addAttribute("revenueMonth", tableau.getRevenuMois());
 
         // Recent Reservations (les 5 dernières)
-        List<Reservation> recentReservations = reservationService.getAllReservations()
-                .stream()
-                .sorted(Comparator.comparing(Reservation::getDateDebut).reversed())
-                .limit(5)
-                .toList();
-        model.addAttribute("recentReservations", recentReservations);
+        model.addAttribute("recentReservations", tableau.getReservationsRecentes());
 
         // Popular Salles (top 5 par nombre de réservations)
-        List<Salle> popularSalles = salleService.getAllSalles()
-                .stream()
-                .sorted(Comparator.comparingInt(s -> -reservationService.getReservationsBySalle(s.getId()).size()))
-                .limit(5)
-                .map(s -> {
-                    int count = reservationService.getReservationsBySalle(s.getId()).size();
-                    double occupancyRate = s.getCapacite() > 0 ? (count * 100.0 / s.getCapacite()) : 0;
-                    s.setOccupancyRate(occupancyRate);
-                    return s;
-                })
-                .toList();
-        model.addAttribute("popularSalles", popularSalles);
-
-        return "dashboard";
+        model.addAttribute("popularSalles", tableau.getSallesPopulaires());
+
+        model.addAttribute("widgetsIndisponibles", tableau.getIndisponibles());
+
+        return "index";
     }
 }
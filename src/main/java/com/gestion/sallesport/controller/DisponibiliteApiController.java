@@ -0,0 +1,30 @@
+package com.gestion.sallesport.controller;
+
+import com.gestion.sallesport.service.DisponibiliteFlux;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/disponibilites")
+@RequiredArgsConstructor
+public class DisponibiliteApiController {
+
+    private final DisponibiliteFlux disponibiliteFlux;
+
+    // Flux SSE pour les écrans d'accueil, à la place du rafraîchissement périodique :
+    //   const flux = new EventSource('/api/disponibilites/flux?salleId=1&salleId=2');
+    //   flux.addEventListener('disponibilite', e => appliquer(JSON.parse(e.data)));
+    //   flux.addEventListener('resynchronisation', () => rechargerTout());
+    @GetMapping(value = "/flux", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter flux(@RequestParam(name = "salleId", required = false) Set<Long> salleIds,
+                           @RequestParam(required = false) String type) {
+        return disponibiliteFlux.abonner(salleIds, type);
+    }
+}
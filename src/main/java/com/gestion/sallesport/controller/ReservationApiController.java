@@ -0,0 +1,76 @@
+package com.gestion.sallesport.controller;
+
+import com.gestion.sallesport.dto.FiltreReservation;
+import com.gestion.sallesport.dto.LigneImportReservation;
+import com.gestion.sallesport.dto.OrdreRecence;
+import com.gestion.sallesport.dto.PageCurseur;
+import com.gestion.sallesport.dto.ReservationRow;
+import com.gestion.sallesport.dto.ReservationStatistics;
+import com.gestion.sallesport.dto.ResultatImport;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.service.ReservationImportService;
+import com.gestion.sallesport.service.ReservationService;
+import com.gestion.sallesport.service.ReservationsRecentes;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations")
+@RequiredArgsConstructor
+public class ReservationApiController {
+
+    private final ReservationService reservationService;
+    private final ReservationImportService reservationImportService;
+    private final ReservationsRecentes reservationsRecentes;
+
+    // Liste paginée par jeton : passer pageSuivante de la réponse précédente dans "page"
+    @GetMapping
+    public PageCurseur<ReservationRow> listReservations(@RequestParam(required = false) Reservation.StatutReservation statut,
+                                                        @RequestParam(required = false) Long salleId,
+                                                        @RequestParam(required = false) Long clientId,
+                                                        @RequestParam(required = false) String page,
+                                                        @RequestParam(defaultValue = "20") int taille) {
+        return reservationService.getReservationsPage(new FiltreReservation(statut, salleId, clientId), page, taille);
+    }
+
+    // Les dernières réservations créées (ordre=CREATION) ou par date de début (ordre=DEBUT)
+    @GetMapping("/recentes")
+    public List<ReservationRow> recentes(@RequestParam(defaultValue = "CREATION") OrdreRecence ordre,
+                                         @RequestParam(defaultValue = "10") int taille) {
+        return reservationsRecentes.dernieres(ordre, taille);
+    }
+
+    // Statistiques par statut, avec les filtres de la liste et éventuellement sur [debut, fin[
+    @GetMapping("/statistiques")
+    public ReservationStatistics statistiques(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime debut,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+                                              @RequestParam(required = false) Reservation.StatutReservation statut,
+                                              @RequestParam(required = false) Long salleId,
+                                              @RequestParam(required = false) Long clientId) {
+        return reservationService.getStatistiques(new FiltreReservation(statut, salleId, clientId), debut, fin);
+    }
+
+    // Import en masse au format JSON (tableau de lignes)
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResultatImport importerJson(@RequestBody List<LigneImportReservation> lignes) {
+        return reservationImportService.importer(lignes);
+    }
+
+    // Import en masse au format CSV, lu en flux depuis le corps de la requête
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResultatImport importerCsv(HttpServletRequest request) throws IOException {
+        return reservationImportService.importerCsv(request.getReader());
+    }
+}
@@ -1,5 +1,6 @@
 package com.gestion.sallesport.controller;
 
+import com.gestion.sallesport.dto.FiltreReservation;
 import com.gestion.sallesport.entity.Reservation;
 import com.gestion.sallesport.service.ReservationService;
 import com.gestion.sallesport.service.ClientService;
@@ -25,27 +26,28 @@ public class ReservationController {
     private final SalleService salleService;
 
     @GetMapping
-    public String listReservations(Model model) {
-        var reservations = reservationService.getAllReservations();
-        model.addAttribute("reservations", reservations);
-        
-        // Calculate statistics using Java Stream API
-        long nombreConfirmees = reservations.stream()
-            .filter(reservation -> reservation.getStatut() == Reservation.StatutReservation.CONFIRMEE)
-            .count();
-            
-        long nombreEnAttente = reservations.stream()
-            .filter(reservation -> reservation.getStatut() == Reservation.StatutReservation.EN_ATTENTE)
-            .count();
-            
-        double revenusConfirmes = reservations.stream()
-            .filter(reservation -> reservation.getStatut() == Reservation.StatutReservation.CONFIRMEE)
-            .mapToDouble(reservation -> reservation.getPrixTotal() != null ? reservation.getPrixTotal() : 0.0)
-            .sum();
-        
-        model.addAttribute("nombreConfirmees", nombreConfirmees);
-        model.addAttribute("nombreEnAttente", nombreEnAttente);
-        model.addAttribute("revenusConfirmes", revenusConfirmes);
+    public String listReservations(@RequestParam(required = false) Reservation.StatutReservation statut,
+                                   @RequestParam(required = false) Long salleId,
+                                   @RequestParam(required = false) Long clientId,
+                                   @RequestParam(required = false) String page,
+                                   @RequestParam(defaultValue = "20") int taille,
+                                   Model model) {
+        FiltreReservation filtre = new FiltreReservation(statut, salleId, clientId);
+        var resultat = reservationService.getReservationsPage(filtre, page, taille);
+        model.addAttribute("reservations", resultat.contenu());
+        model.addAttribute("pageSuivante", resultat.pageSuivante());
+        model.addAttribute("premierePage", page == null || page.isBlank());
+        model.addAttribute("statut", statut);
+        model.addAttribute("salleId", salleId);
+        model.addAttribute("clientId", clientId);
+        model.addAttribute("taille", taille);
+
+        // Statistiques calculées en base par une seule requête GROUP BY statut, sur les mêmes filtres que la liste
+        var statistiques = reservationService.getStatistiques(filtre, null, null);
+        model.addAttribute("totalReservations", statistiques.getNombreTotal());
+        model.addAttribute("nombreConfirmees", statistiques.getNombreConfirmees());
+        model.addAttribute("nombreEnAttente", statistiques.getNombreEnAttente());
+        model.addAttribute("revenusConfirmes", statistiques.getRevenusConfirmes());
         
         return "reservations/list";
     }
@@ -53,9 +55,7 @@ public class ReservationController {
     @GetMapping("/new")
     public String showCreateForm(Model model) {
         model.addAttribute("reservation", new Reservation());
-        model.addAttribute("clients", clientService.getAllClients());
-        model.addAttribute("salles", salleService.getAllSalles());
-        model.addAttribute("statuts", Reservation.StatutReservation.values());
+        preparerFormulaire(model);
         return "reservations/form";
     }
 
@@ -65,9 +65,7 @@ public class ReservationController {
                                     Model model,
                                     RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
-            model.addAttribute("clients", clientService.getAllClients());
-            model.addAttribute("salles", salleService.getAllSalles());
-            model.addAttribute("statuts", Reservation.StatutReservation.values());
+            preparerFormulaire(model);
             return "reservations/form";
         }
         
@@ -77,9 +75,7 @@ public class ReservationController {
             return "redirect:/reservations";
         } catch (RuntimeException e) {
             model.addAttribute("errorMessage", e.getMessage());
-            model.addAttribute("clients", clientService.getAllClients());
-            model.addAttribute("salles", salleService.getAllSalles());
-            model.addAttribute("statuts", Reservation.StatutReservation.values());
+            preparerFormulaire(model);
             return "reservations/form";
         }
     }
@@ -96,9 +92,7 @@ public class ReservationController {
     public String showEditForm(@PathVariable Long id, Model model) {
         reservationService.getReservationById(id).ifPresent(reservation -> {
             model.addAttribute("reservation", reservation);
-            model.addAttribute("clients", clientService.getAllClients());
-            model.addAttribute("salles", salleService.getAllSalles());
-            model.addAttribute("statuts", Reservation.StatutReservation.values());
+            preparerFormulaire(model);
         });
         return "reservations/form";
     }
@@ -110,9 +104,7 @@ public class ReservationController {
                                     Model model,
                                     RedirectAttributes redirectAttributes) {
         if (result.hasErrors()) {
-            model.addAttribute("clients", clientService.getAllClients());
-            model.addAttribute("salles", salleService.getAllSalles());
-            model.addAttribute("statuts", Reservation.StatutReservation.values());
+            preparerFormulaire(model);
             return "reservations/form";
         }
         
@@ -122,9 +114,7 @@ public class ReservationController {
             return "redirect:/reservations";
         } catch (RuntimeException e) {
             model.addAttribute("errorMessage", e.getMessage());
-            model.addAttribute("clients", clientService.getAllClients());
-            model.addAttribute("salles", salleService.getAllSalles());
-            model.addAttribute("statuts", Reservation.StatutReservation.values());
+            preparerFormulaire(model);
             return "reservations/form";
         }
     }
@@ -154,7 +144,14 @@ public class ReservationController {
     public String checkDisponibilite(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateDebut,
                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFin,
                                      Model model) {
-        model.addAttribute("sallesDisponibles", salleService.getSallesDisponiblesPourPeriode(dateDebut, dateFin));
+        model.addAttribute("sallesDisponibles", salleService.getFichesSallesDisponiblesPourPeriode(dateDebut, dateFin));
         return "reservations/disponibilite";
     }
+
+    // Listes de choix du formulaire ; les salles viennent du cache du catalogue
+    private void preparerFormulaire(Model model) {
+        model.addAttribute("clients", clientService.getAllClients());
+        model.addAttribute("salles", salleService.getCatalogueSalles());
+        model.addAttribute("statuts", Reservation.StatutReservation.values());
+    }
 }
\ No newline at end of file
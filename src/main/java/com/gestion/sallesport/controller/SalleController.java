@@ -1,5 +1,6 @@
 package com.gestion.sallesport.controller;
 
+import com.gestion.sallesport.dto.FicheSalle;
 import com.gestion.sallesport.entity.Salle;
 import com.gestion.sallesport.service.SalleService;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +22,7 @@ public class SalleController {
     // Liste de toutes les salles
     @GetMapping
     public String listSalles(Model model) {
-        List<Salle> salles = salleService.getAllSalles();
+        List<FicheSalle> salles = salleService.getFichesSalles();
         model.addAttribute("salles", salles);
         return "salles/list"; // ton template Thymeleaf pour afficher toutes les salles
     }
@@ -43,6 +44,13 @@ public class SalleController {
         return "redirect:/salles";
     }
 
+    // Détail salle (liens de la liste et du détail d'une réservation)
+    @GetMapping("/{id}")
+    public String showSalle(@PathVariable Long id, Model model) {
+        model.addAttribute("salle", salleService.getSalleById(id));
+        return "salles/detail";
+    }
+
     // Formulaire édition salle
     @GetMapping("/{id}/edit")
     public String showEditForm(@PathVariable Long id, Model model) {
@@ -51,8 +59,8 @@ public class SalleController {
         return "salles/form";
     }
 
-    // Mettre à jour salle
-    @PostMapping("/{id}/update")
+    // Mettre à jour salle (le formulaire poste sur /salles/{id})
+    @PostMapping({"/{id}", "/{id}/update"})
     public String updateSalle(@PathVariable Long id, @Valid @ModelAttribute("salle") Salle salleDetails, BindingResult result) {
         if (result.hasErrors()) {
             return "salles/form";
@@ -71,7 +79,7 @@ public class SalleController {
     // Salles disponibles
     @GetMapping("/disponibles")
     public String listSallesDisponibles(Model model) {
-        List<Salle> sallesDisponibles = salleService.getSallesDisponibles();
+        List<FicheSalle> sallesDisponibles = salleService.getFichesSallesDisponibles();
         model.addAttribute("salles", sallesDisponibles);
         return "salles/list"; // tu peux utiliser le même template list
     }
@@ -0,0 +1,50 @@
+package com.gestion.sallesport.controller;
+
+import com.gestion.sallesport.dto.DemandeSerie;
+import com.gestion.sallesport.dto.SerieResume;
+import com.gestion.sallesport.service.SerieReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/series")
+@RequiredArgsConstructor
+public class SerieReservationApiController {
+
+    private final SerieReservationService serieService;
+
+    @PostMapping
+    public SerieResume createSerie(@RequestBody DemandeSerie demande) {
+        return SerieResume.of(serieService.createSerie(demande));
+    }
+
+    @GetMapping("/{id}")
+    public SerieResume showSerie(@PathVariable Long id) {
+        return SerieResume.of(serieService.getSerieById(id));
+    }
+
+    @PostMapping("/{id}/confirmer")
+    public SerieResume confirmerSerie(@PathVariable Long id) {
+        return SerieResume.of(serieService.confirmerSerie(id));
+    }
+
+    @PostMapping("/{id}/annuler")
+    public SerieResume annulerSerie(@PathVariable Long id) {
+        return SerieResume.of(serieService.annulerSerie(id));
+    }
+
+    @PostMapping("/{id}/exceptions")
+    public SerieResume ajouterException(@PathVariable Long id,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return SerieResume.of(serieService.ajouterException(id, date));
+    }
+}
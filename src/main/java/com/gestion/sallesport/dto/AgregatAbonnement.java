@@ -0,0 +1,7 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Client;
+
+// Une ligne du GROUP BY typeAbonnement : nombre de clients et inscriptions sur la période demandée
+public record AgregatAbonnement(Client.TypeAbonnement typeAbonnement, Long nombre, Long nouveaux) {
+}
@@ -0,0 +1,7 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Reservation;
+
+// Une ligne du GROUP BY statut : nombre de réservations et somme des prix
+public record AgregatStatut(Reservation.StatutReservation statut, Long nombre, Double montant) {
+}
@@ -0,0 +1,13 @@
+package com.gestion.sallesport.dto;
+
+import java.time.LocalDateTime;
+
+// Événement du flux de disponibilité : le créneau [dateDebut, dateFin] de la salle vient d'être
+// occupé (réservation confirmée) ou libéré (annulation, suppression, déplacement)
+public record ChangementDisponibilite(Long reservationId,
+                                      Long salleId,
+                                      String salleType,
+                                      LocalDateTime dateDebut,
+                                      LocalDateTime dateFin,
+                                      boolean occupee) {
+}
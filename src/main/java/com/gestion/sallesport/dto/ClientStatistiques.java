@@ -0,0 +1,39 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Client;
+import lombok.Value;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class ClientStatistiques {
+
+    Map<Client.TypeAbonnement, Long> nombreParType;
+    long total;
+    long nouveaux;
+
+    public static ClientStatistiques of(List<AgregatAbonnement> agregats) {
+        Map<Client.TypeAbonnement, Long> nombres = new EnumMap<>(Client.TypeAbonnement.class);
+        long total = 0;
+        long nouveaux = 0;
+        // Les clients sans type d'abonnement comptent dans le total
+        for (AgregatAbonnement agregat : agregats) {
+            if (agregat.typeAbonnement() != null) {
+                nombres.put(agregat.typeAbonnement(), agregat.nombre());
+            }
+            total += agregat.nombre();
+            nouveaux += agregat.nouveaux() != null ? agregat.nouveaux() : 0L;
+        }
+        return new ClientStatistiques(nombres, total, nouveaux);
+    }
+
+    public long getNombreAbonnesAnnuels() {
+        return nombreParType.getOrDefault(Client.TypeAbonnement.ANNUEL, 0L);
+    }
+
+    public long getNombreAbonnesMensuels() {
+        return nombreParType.getOrDefault(Client.TypeAbonnement.MENSUEL, 0L);
+    }
+}
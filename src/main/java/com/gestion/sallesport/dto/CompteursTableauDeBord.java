@@ -0,0 +1,5 @@
+package com.gestion.sallesport.dto;
+
+// Cartes du tableau de bord : nombre de clients, de salles et de réservations, lus en une requête
+public record CompteursTableauDeBord(long clients, long salles, long reservations) {
+}
@@ -0,0 +1,32 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.exception.RequeteInvalideException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Position dans la liste triée par (dateDebut DESC, id DESC) : la page suivante commence juste après
+public record CurseurPage(LocalDateTime dateDebut, Long id) {
+
+    private static final String SEPARATEUR = "|";
+
+    public String encoder() {
+        String brut = dateDebut + SEPARATEUR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(brut.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Jeton illisible ou modifié à la main : RequeteInvalideException, traduite en 400
+    public static CurseurPage decoder(String jeton) {
+        if (jeton == null || jeton.isBlank()) {
+            return null;
+        }
+        try {
+            String brut = new String(Base64.getUrlDecoder().decode(jeton), StandardCharsets.UTF_8);
+            int separateur = brut.lastIndexOf(SEPARATEUR);
+            return new CurseurPage(LocalDateTime.parse(brut.substring(0, separateur)), Long.valueOf(brut.substring(separateur + 1)));
+        } catch (RuntimeException e) {
+            throw new RequeteInvalideException("Jeton de page invalide : " + jeton, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.SerieReservation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record DemandeSerie(Long clientId,
+                           Long salleId,
+                           LocalDateTime premierDebut,
+                           Integer dureeMinutes,
+                           SerieReservation.Frequence frequence,
+                           Integer intervalle,
+                           LocalDate dateFinRecurrence,
+                           Integer nombreOccurrences,
+                           Reservation.StatutReservation statut,
+                           String remarques) {
+}
@@ -0,0 +1,27 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Salle;
+import lombok.Value;
+import lombok.With;
+
+// Salle du catalogue, immuable : partagée sans risque entre les threads depuis le cache.
+// Le taux d'occupation est posé sur une copie (withOccupancyRate), jamais sur l'instance en cache.
+@Value
+public class FicheSalle {
+
+    Long id;
+    String nom;
+    String type;
+    Integer capacite;
+    Double prixHeure;
+    String description;
+    String equipements;
+    boolean disponible;
+    @With
+    double occupancyRate;
+
+    public static FicheSalle of(Salle salle) {
+        return new FicheSalle(salle.getId(), salle.getNom(), salle.getType(), salle.getCapacite(),
+                salle.getPrixHeure(), salle.getDescription(), salle.getEquipements(), salle.isDisponible(), 0.0);
+    }
+}
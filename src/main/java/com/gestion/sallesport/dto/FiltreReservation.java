@@ -0,0 +1,11 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Reservation;
+
+// Filtres optionnels de la liste des réservations (null = pas de filtre)
+public record FiltreReservation(Reservation.StatutReservation statut, Long salleId, Long clientId) {
+
+    public static FiltreReservation aucun() {
+        return new FiltreReservation(null, null, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.gestion.sallesport.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// Découpage d'une plage de dates en périodes : jour, semaine (du lundi) ou mois calendaire
+public enum Granularite {
+    JOUR,
+    SEMAINE,
+    MOIS;
+
+    // Premier jour de la période contenant la date
+    public LocalDate debutPeriode(LocalDate date) {
+        return switch (this) {
+            case JOUR -> date;
+            case SEMAINE -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MOIS -> date.withDayOfMonth(1);
+        };
+    }
+
+    // Premier jour de la période suivante
+    public LocalDate periodeSuivante(LocalDate debutPeriode) {
+        return switch (this) {
+            case JOUR -> debutPeriode.plusDays(1);
+            case SEMAINE -> debutPeriode.plusWeeks(1);
+            case MOIS -> debutPeriode.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Reservation;
+
+import java.time.LocalDateTime;
+
+// Une ligne d'import en masse (JSON ou CSV clientId;salleId;dateDebut;dateFin;statut;remarques)
+public record LigneImportReservation(Long clientId,
+                                     Long salleId,
+                                     LocalDateTime dateDebut,
+                                     LocalDateTime dateFin,
+                                     Reservation.StatutReservation statut,
+                                     String remarques) {
+}
@@ -0,0 +1,7 @@
+package com.gestion.sallesport.dto;
+
+// Sens de "récent" : dernières réservations créées, ou dernières par date de début
+public enum OrdreRecence {
+    CREATION,
+    DEBUT
+}
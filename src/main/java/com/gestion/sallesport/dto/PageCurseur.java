@@ -0,0 +1,11 @@
+package com.gestion.sallesport.dto;
+
+import java.util.List;
+
+// Page de résultats et jeton de la page suivante (null sur la dernière page)
+public record PageCurseur<T>(List<T> contenu, String pageSuivante) {
+
+    public boolean isDernierePage() {
+        return pageSuivante == null;
+    }
+}
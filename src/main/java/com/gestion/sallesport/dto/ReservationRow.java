@@ -0,0 +1,24 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Reservation;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+// Ligne de liste d'une réservation : les seules colonnes affichées, sans graphe d'entités
+@Value
+public class ReservationRow {
+
+    Long id;
+    LocalDateTime dateDebut;
+    LocalDateTime dateFin;
+    Reservation.StatutReservation statut;
+    Double prixTotal;
+    Long clientId;
+    String clientNom;
+    String clientPrenom;
+    String clientEmail;
+    Long salleId;
+    String salleNom;
+    String salleType;
+}
@@ -0,0 +1,51 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Reservation;
+import lombok.Value;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class ReservationStatistics {
+
+    Map<Reservation.StatutReservation, Long> nombreParStatut;
+    Map<Reservation.StatutReservation, Double> montantParStatut;
+
+    public static ReservationStatistics of(List<AgregatStatut> agregats) {
+        Map<Reservation.StatutReservation, Long> nombres = new EnumMap<>(Reservation.StatutReservation.class);
+        Map<Reservation.StatutReservation, Double> montants = new EnumMap<>(Reservation.StatutReservation.class);
+        for (AgregatStatut agregat : agregats) {
+            if (agregat.statut() != null) {
+                nombres.put(agregat.statut(), agregat.nombre());
+                montants.put(agregat.statut(), agregat.montant() != null ? agregat.montant() : 0.0);
+            }
+        }
+        return new ReservationStatistics(nombres, montants);
+    }
+
+    public long getNombreTotal() {
+        return nombreParStatut.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getNombreConfirmees() {
+        return nombreParStatut.getOrDefault(Reservation.StatutReservation.CONFIRMEE, 0L);
+    }
+
+    public long getNombreEnAttente() {
+        return nombreParStatut.getOrDefault(Reservation.StatutReservation.EN_ATTENTE, 0L);
+    }
+
+    public long getNombreAnnulees() {
+        return nombreParStatut.getOrDefault(Reservation.StatutReservation.ANNULEE, 0L);
+    }
+
+    public long getNombreTerminees() {
+        return nombreParStatut.getOrDefault(Reservation.StatutReservation.TERMINEE, 0L);
+    }
+
+    public double getRevenusConfirmes() {
+        return montantParStatut.getOrDefault(Reservation.StatutReservation.CONFIRMEE, 0.0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.gestion.sallesport.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class ResultatImport {
+
+    private int lignesLues;
+    private int lignesImportees;
+    private final List<ErreurLigne> erreurs = new ArrayList<>();
+
+    public record ErreurLigne(int ligne, String message) {
+    }
+
+    public void ligneLue() {
+        lignesLues++;
+    }
+
+    public void lignesImportees(int nombre) {
+        lignesImportees += nombre;
+    }
+
+    public void erreur(int ligne, String message) {
+        erreurs.add(new ErreurLigne(ligne, message));
+    }
+}
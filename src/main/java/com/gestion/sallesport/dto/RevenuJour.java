@@ -0,0 +1,7 @@
+package com.gestion.sallesport.dto;
+
+import java.time.LocalDate;
+
+// Somme des prix des réservations confirmées d'un jour, agrégée en base
+public record RevenuJour(LocalDate jour, Double montant) {
+}
@@ -0,0 +1,7 @@
+package com.gestion.sallesport.dto;
+
+import java.time.LocalDate;
+
+// Revenu des réservations confirmées commençant dans [debut, fin[
+public record RevenuPeriode(LocalDate debut, LocalDate fin, double montant) {
+}
@@ -0,0 +1,17 @@
+package com.gestion.sallesport.dto;
+
+import lombok.Value;
+import lombok.With;
+
+// Ligne du widget "salles populaires" : uniquement les colonnes affichées, calculées en base
+@Value
+public class SallePopulaire {
+
+    Long id;
+    String nom;
+    Integer capacite;
+    Double prixHeure;
+    Long nombreReservations;
+    @With
+    Double occupancyRate;
+}
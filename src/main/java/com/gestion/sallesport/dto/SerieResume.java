@@ -0,0 +1,38 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.SerieReservation;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+
+public record SerieResume(Long id,
+                          Long clientId,
+                          Long salleId,
+                          LocalDateTime premierDebut,
+                          Integer dureeMinutes,
+                          SerieReservation.Frequence frequence,
+                          int intervalle,
+                          LocalDate dateFinRecurrence,
+                          Integer nombreOccurrences,
+                          Set<LocalDate> exceptions,
+                          Reservation.StatutReservation statut) {
+
+    public static SerieResume of(SerieReservation serie) {
+        return new SerieResume(
+                serie.getId(),
+                serie.getClient().getId(),
+                serie.getSalle().getId(),
+                serie.getPremierDebut(),
+                serie.getDureeMinutes(),
+                serie.getFrequence(),
+                serie.getIntervalle(),
+                serie.getDateFinRecurrence(),
+                serie.getNombreOccurrences(),
+                new TreeSet<>(serie.getExceptions()),
+                serie.getStatut()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.gestion.sallesport.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record StatistiquesCache(String nom,
+                                long taille,
+                                long succes,
+                                long echecs,
+                                double tauxSucces,
+                                long evictions) {
+
+    public static StatistiquesCache of(String nom, long taille, CacheStats stats) {
+        return new StatistiquesCache(nom, taille, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
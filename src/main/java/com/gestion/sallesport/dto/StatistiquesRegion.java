@@ -0,0 +1,16 @@
+package com.gestion.sallesport.dto;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+// Statistiques d'une région du cache de second niveau Hibernate
+public record StatistiquesRegion(String nom,
+                                 long succes,
+                                 long echecs,
+                                 long insertions,
+                                 long elementsEnMemoire) {
+
+    public static StatistiquesRegion of(String nom, CacheRegionStatistics stats) {
+        return new StatistiquesRegion(nom, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                stats.getElementCountInMemory());
+    }
+}
@@ -0,0 +1,5 @@
+package com.gestion.sallesport.dto;
+
+// Cumul des agrégats journaliers d'une salle sur une plage de jours
+public record StatistiquesSalle(Long salleId, Long nombreConfirmees, Long minutesReservees, Double revenu) {
+}
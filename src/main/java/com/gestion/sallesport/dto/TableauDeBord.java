@@ -0,0 +1,17 @@
+package com.gestion.sallesport.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+// Données du tableau de bord composées en parallèle : un widget trop lent ou en erreur vaut null
+// et son nom figure dans indisponibles, la page est rendue avec le reste
+@Value
+public class TableauDeBord {
+
+    CompteursTableauDeBord compteurs;
+    Double revenuMois;
+    List<ReservationRow> reservationsRecentes;
+    List<SallePopulaire> sallesPopulaires;
+    List<String> indisponibles;
+}
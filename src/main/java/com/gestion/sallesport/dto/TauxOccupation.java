@@ -0,0 +1,5 @@
+package com.gestion.sallesport.dto;
+
+// Minutes réservées rapportées aux minutes d'ouverture d'une salle sur la fenêtre d'observation
+public record TauxOccupation(Long salleId, long minutesReservees, long minutesOuvertes, double taux) {
+}
@@ -6,19 +6,28 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "clients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
+@Table(name = "clients", indexes = {
+        @Index(name = "idx_clients_nom_prenom_id", columnList = "nom, prenom, id"),
+        @Index(name = "idx_clients_type_abonnement_nom", columnList = "type_abonnement, nom, prenom, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString(exclude = "reservations")
+@EqualsAndHashCode(exclude = "reservations")
 public class Client {
 
     @Id
@@ -48,6 +57,7 @@ public class Client {
     private LocalDate dateInscription = LocalDate.now();
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "type_abonnement")
     private TypeAbonnement typeAbonnement = TypeAbonnement.OCCASIONNEL;
 
     @OneToMany(mappedBy = "client", cascade = CascadeType.ALL)
@@ -5,29 +5,39 @@ import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_date_debut_id", columnList = "date_debut, id"),
+        @Index(name = "idx_reservations_salle_date_debut", columnList = "salle_id, date_debut"),
+        @Index(name = "idx_reservations_client_date_debut", columnList = "client_id, date_debut"),
+        @Index(name = "idx_reservations_statut_date_debut", columnList = "statut, date_debut"),
+        @Index(name = "idx_reservations_date_creation_id", columnList = "date_creation, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"client"})
+@ToString(exclude = {"client", "salle"})
+@EqualsAndHashCode(exclude = {"client", "salle"})
 public class Reservation {
 
+    // Séquence avec pré-allocation (pooled) : contrairement à IDENTITY, elle permet le batch JDBC des insertions
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     @NotNull(message = "Le client est obligatoire")
     private Client client;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "salle_id", nullable = false)
     @NotNull(message = "La salle est obligatoire")
     private Salle salle;
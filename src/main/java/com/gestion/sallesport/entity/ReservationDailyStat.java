@@ -0,0 +1,40 @@
+package com.gestion.sallesport.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Agrégat journalier par salle des réservations confirmées, maintenu à chaque changement d'état.
+// Le nombre et le revenu sont rattachés au jour de début ; les minutes sont réparties sur chaque jour couvert.
+@Entity
+@Table(name = "reservation_daily_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reservation_daily_stats_salle_jour", columnNames = {"salle_id", "jour"}),
+        indexes = @Index(name = "idx_reservation_daily_stats_jour", columnList = "jour"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDailyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_daily_stats_seq")
+    @SequenceGenerator(name = "reservation_daily_stats_seq", sequenceName = "reservation_daily_stats_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "salle_id", nullable = false)
+    private Long salleId;
+
+    @Column(nullable = false)
+    private LocalDate jour;
+
+    @Column(name = "nombre_confirmees", nullable = false)
+    private long nombreConfirmees;
+
+    @Column(name = "minutes_reservees", nullable = false)
+    private long minutesReservees;
+
+    @Column(nullable = false)
+    private double revenu;
+}
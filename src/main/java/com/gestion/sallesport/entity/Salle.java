@@ -6,16 +6,24 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "salles")
 @Table(name = "salles")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@ToString(exclude = "reservations")
+@EqualsAndHashCode(exclude = "reservations")
 public class Salle {
 
     @Id
@@ -0,0 +1,220 @@
+package com.gestion.sallesport.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Réservation récurrente (façon RRULE) : les occurrences ne sont jamais stockées,
+// elles se déduisent de premierDebut + k * période, hors dates d'exception.
+@Entity
+@Table(name = "series_reservations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = {"client"})
+public class SerieReservation {
+
+    private static final long MINUTES_PAR_JOUR = 24 * 60;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "client_id", nullable = false)
+    @NotNull(message = "Le client est obligatoire")
+    private Client client;
+
+    @ManyToOne
+    @JoinColumn(name = "salle_id", nullable = false)
+    @NotNull(message = "La salle est obligatoire")
+    private Salle salle;
+
+    @NotNull(message = "La date de la première séance est obligatoire")
+    @Column(name = "premier_debut", nullable = false)
+    private LocalDateTime premierDebut;
+
+    @NotNull(message = "La durée est obligatoire")
+    @Positive(message = "La durée doit être positive")
+    @Column(name = "duree_minutes", nullable = false)
+    private Integer dureeMinutes;
+
+    @NotNull(message = "La fréquence est obligatoire")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Frequence frequence = Frequence.HEBDOMADAIRE;
+
+    @Positive(message = "L'intervalle doit être positif")
+    private int intervalle = 1;
+
+    // Fin de la série : date limite incluse et/ou nombre d'occurrences ; aucune des deux = série sans fin
+    @Column(name = "date_fin_recurrence")
+    private LocalDate dateFinRecurrence;
+
+    @Positive(message = "Le nombre d'occurrences doit être positif")
+    @Column(name = "nombre_occurrences")
+    private Integer nombreOccurrences;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "series_reservations_exceptions", joinColumns = @JoinColumn(name = "serie_id"))
+    @Column(name = "date_exception")
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    @Enumerated(EnumType.STRING)
+    private Reservation.StatutReservation statut = Reservation.StatutReservation.EN_ATTENTE;
+
+    @Column(name = "date_creation")
+    private LocalDateTime dateCreation = LocalDateTime.now();
+
+    private String remarques;
+
+    public enum Frequence {
+        QUOTIDIENNE(1),
+        HEBDOMADAIRE(7);
+
+        private final int jours;
+
+        Frequence(int jours) {
+            this.jours = jours;
+        }
+    }
+
+    public long periodeMinutes() {
+        return (long) intervalle * frequence.jours * MINUTES_PAR_JOUR;
+    }
+
+    // Indice de la dernière occurrence, Long.MAX_VALUE pour une série sans fin
+    public long derniereOccurrence() {
+        long derniere = Long.MAX_VALUE;
+        if (nombreOccurrences != null) {
+            derniere = nombreOccurrences - 1L;
+        }
+        if (dateFinRecurrence != null) {
+            long jours = ChronoUnit.DAYS.between(premierDebut.toLocalDate(), dateFinRecurrence);
+            derniere = Math.min(derniere, Math.floorDiv(jours, (long) intervalle * frequence.jours));
+        }
+        return derniere;
+    }
+
+    public boolean estSansFin() {
+        return derniereOccurrence() == Long.MAX_VALUE;
+    }
+
+    public LocalDateTime debutOccurrence(long indice) {
+        return premierDebut.plusMinutes(indice * periodeMinutes());
+    }
+
+    public LocalDateTime finOccurrence(LocalDateTime debutOccurrence) {
+        return debutOccurrence.plusMinutes(dureeMinutes);
+    }
+
+    // Occurrences (hors exceptions) chevauchant [debut, fin], bornes incluses comme pour les réservations.
+    // Les indices extrêmes se calculent directement : seules les occurrences de la fenêtre sont parcourues.
+    public List<LocalDateTime> occurrencesEntre(LocalDateTime debut, LocalDateTime fin) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        long dernier = dernierIndiceAvant(fin);
+        for (long indice = premierIndiceApres(debut); indice <= dernier; indice++) {
+            LocalDateTime occurrence = debutOccurrence(indice);
+            if (!exceptions.contains(occurrence.toLocalDate())) {
+                occurrences.add(occurrence);
+            }
+        }
+        return occurrences;
+    }
+
+    public boolean chevauche(LocalDateTime debut, LocalDateTime fin) {
+        long dernier = dernierIndiceAvant(fin);
+        for (long indice = premierIndiceApres(debut); indice <= dernier; indice++) {
+            if (!exceptions.contains(debutOccurrence(indice).toLocalDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Conflit avec une autre série sans parcourir les occurrences. L'occurrence j de l'autre série commence
+    // ecart + j * pB - i * pA minutes après l'occurrence i de celle-ci : ce décalage est un multiple du pgcd
+    // des périodes et doit rester dans [-dureeAutre, duree]. Chaque multiple admissible donne, par Bézout,
+    // une progression de couples (i, j) ; seules les dates d'exception peuvent en écarter des termes,
+    // d'où au plus exceptions + 1 couples examinés par multiple.
+    public boolean chevauche(SerieReservation autre) {
+        long joursA = (long) intervalle * frequence.jours;
+        long joursB = (long) autre.intervalle * autre.frequence.jours;
+        long pgcdJours = pgcd(joursA, joursB);
+        long a = joursA / pgcdJours;
+        long b = joursB / pgcdJours;
+        long pasMinutes = pgcdJours * MINUTES_PAR_JOUR;
+        long ecart = ChronoUnit.MINUTES.between(premierDebut, autre.premierDebut);
+        long inverseB = inverseModulo(b, a);
+        long essaisMax = exceptions.size() + autre.exceptions.size();
+
+        long tMin = -Math.floorDiv(autre.dureeMinutes + ecart, pasMinutes);
+        long tMax = Math.floorDiv(dureeMinutes - ecart, pasMinutes);
+        for (long t = tMin; t <= tMax; t++) {
+            // j * b - i * a = t, solution générale (i0 + s * b, j0 + s * a)
+            long j0 = inverseB * t;
+            long i0 = (j0 * b - t) / a;
+            long sMin = Math.max(-Math.floorDiv(i0, b), -Math.floorDiv(j0, a));
+            long sMax = Long.MAX_VALUE;
+            if (!estSansFin()) {
+                sMax = Math.floorDiv(derniereOccurrence() - i0, b);
+            }
+            if (!autre.estSansFin()) {
+                sMax = Math.min(sMax, Math.floorDiv(autre.derniereOccurrence() - j0, a));
+            }
+            for (long s = sMin, essais = 0; s <= sMax && essais <= essaisMax; s++, essais++) {
+                if (!exceptions.contains(debutOccurrence(i0 + s * b).toLocalDate())
+                        && !autre.exceptions.contains(autre.debutOccurrence(j0 + s * a).toLocalDate())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static long pgcd(long x, long y) {
+        return y == 0 ? x : pgcd(y, x % y);
+    }
+
+    // u tel que u * b ≡ 1 (mod a), a et b premiers entre eux
+    private static long inverseModulo(long b, long a) {
+        long r0 = a;
+        long r1 = Math.floorMod(b, a);
+        long u0 = 0;
+        long u1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            long u = u0 - q * u1;
+            u0 = u1;
+            u1 = u;
+        }
+        return Math.floorMod(u0, a);
+    }
+
+    // Première occurrence se terminant au plus tôt à debut : premierDebut + k * période + durée >= debut
+    private long premierIndiceApres(LocalDateTime debut) {
+        long minutes = ChronoUnit.MINUTES.between(premierDebut, debut) - dureeMinutes;
+        return Math.max(0, -Math.floorDiv(-minutes, periodeMinutes()));
+    }
+
+    // Dernière occurrence commençant au plus tard à fin
+    private long dernierIndiceAvant(LocalDateTime fin) {
+        long minutes = ChronoUnit.MINUTES.between(premierDebut, fin);
+        return Math.min(derniereOccurrence(), Math.floorDiv(minutes, periodeMinutes()));
+    }
+}
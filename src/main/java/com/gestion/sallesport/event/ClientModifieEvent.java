@@ -0,0 +1,14 @@
+package com.gestion.sallesport.event;
+
+// Publié par ClientService à chaque création, modification ou suppression d'un client.
+// fiche est null pour une suppression.
+public record ClientModifieEvent(Long clientId, FicheClient fiche) {
+
+    public static ClientModifieEvent enregistrement(FicheClient fiche) {
+        return new ClientModifieEvent(fiche.id(), fiche);
+    }
+
+    public static ClientModifieEvent suppression(Long clientId) {
+        return new ClientModifieEvent(clientId, null);
+    }
+}
@@ -0,0 +1,34 @@
+package com.gestion.sallesport.event;
+
+import com.gestion.sallesport.entity.Reservation;
+
+import java.time.LocalDateTime;
+
+// Photographie immuable d'une réservation à un instant donné ; le type de la salle accompagne son id
+// pour que les écouteurs après commit filtrent par type sans relire le catalogue
+public record EtatReservation(Long id,
+                              Long salleId,
+                              String salleType,
+                              Long clientId,
+                              LocalDateTime dateDebut,
+                              LocalDateTime dateFin,
+                              Reservation.StatutReservation statut,
+                              Double prixTotal) {
+
+    public static EtatReservation of(Reservation reservation) {
+        return new EtatReservation(
+                reservation.getId(),
+                reservation.getSalle().getId(),
+                reservation.getSalle().getType(),
+                reservation.getClient().getId(),
+                reservation.getDateDebut(),
+                reservation.getDateFin(),
+                reservation.getStatut(),
+                reservation.getPrixTotal()
+        );
+    }
+
+    public boolean estConfirmee() {
+        return statut == Reservation.StatutReservation.CONFIRMEE;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gestion.sallesport.event;
+
+import com.gestion.sallesport.entity.Client;
+
+// Champs d'un client utiles à la recherche, sans ses réservations
+public record FicheClient(Long id, String nom, String prenom, String email, String telephone) {
+
+    public static FicheClient of(Client client) {
+        return new FicheClient(client.getId(), client.getNom(), client.getPrenom(), client.getEmail(), client.getTelephone());
+    }
+}
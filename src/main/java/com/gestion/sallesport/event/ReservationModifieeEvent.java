@@ -0,0 +1,14 @@
+package com.gestion.sallesport.event;
+
+// Publié par ReservationService à chaque changement d'état d'une réservation.
+// avant est null pour une création, apres est null pour une suppression.
+public record ReservationModifieeEvent(EtatReservation avant, EtatReservation apres) {
+
+    public static ReservationModifieeEvent creation(EtatReservation apres) {
+        return new ReservationModifieeEvent(null, apres);
+    }
+
+    public static ReservationModifieeEvent suppression(EtatReservation avant) {
+        return new ReservationModifieeEvent(avant, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.gestion.sallesport.event;
+
+import com.gestion.sallesport.entity.SerieReservation;
+
+// Publié par SerieReservationService à chaque création, confirmation, annulation ou exception d'une série.
+// Les occurrences ne sont pas des lignes de reservations : aucun ReservationModifieeEvent n'est publié pour elles.
+public record SerieModifieeEvent(Long serieId, Long salleId, String salleType) {
+
+    public static SerieModifieeEvent of(SerieReservation serie) {
+        return new SerieModifieeEvent(serie.getId(), serie.getSalle().getId(), serie.getSalle().getType());
+    }
+}
@@ -0,0 +1,36 @@
+package com.gestion.sallesport.exception;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// Erreurs des contrôleurs /api : réponse JSON avec le bon statut au lieu des vues de GlobalExceptionHandler.
+// Consulté avant GlobalExceptionHandler, dont le gestionnaire Exception.class intercepterait tout.
+@RestControllerAdvice(annotations = RestController.class)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(RequeteInvalideException.class)
+    public ProblemDetail handleRequeteInvalide(RequeteInvalideException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(ConflitReservationException.class)
+    public ProblemDetail handleConflitReservation(ConflitReservationException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    // Sans corps : le flux SSE ne produit que text/event-stream, un ProblemDetail n'y serait pas sérialisable
+    @ExceptionHandler(ServiceIndisponibleException.class)
+    public ResponseEntity<Void> handleServiceIndisponible(ServiceIndisponibleException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getReessaiSecondes()))
+                .build();
+    }
+}
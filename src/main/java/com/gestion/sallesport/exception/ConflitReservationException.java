@@ -0,0 +1,8 @@
+package com.gestion.sallesport.exception;
+
+// Créneau déjà pris dans la salle : redirection avec message côté pages, réponse 409 côté /api
+public class ConflitReservationException extends BusinessException {
+    public ConflitReservationException(String message) {
+        super(message);
+    }
+}
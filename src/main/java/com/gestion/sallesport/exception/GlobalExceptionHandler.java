@@ -4,6 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @ControllerAdvice
@@ -17,6 +18,15 @@ public class GlobalExceptionHandler {
         return "error";
     }
 
+    @ExceptionHandler(RequeteInvalideException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleRequeteInvalide(RequeteInvalideException ex, Model model) {
+        model.addAttribute("error", "Requête invalide");
+        model.addAttribute("message", ex.getMessage());
+        model.addAttribute("status", HttpStatus.BAD_REQUEST.value());
+        return "error";
+    }
+
     @ExceptionHandler(BusinessException.class)
     public String handleBusinessException(BusinessException ex, RedirectAttributes redirectAttributes) {
         redirectAttributes.addFlashAttribute("errorMessage", ex.getMessage());
@@ -0,0 +1,12 @@
+package com.gestion.sallesport.exception;
+
+// Paramètre de requête illisible ou falsifié (jeton de page, ...) : erreur du client, réponse 400
+public class RequeteInvalideException extends RuntimeException {
+    public RequeteInvalideException(String message) {
+        super(message);
+    }
+
+    public RequeteInvalideException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gestion.sallesport.exception;
+
+// Capacité momentanément atteinte : réponse 503 avec un en-tête Retry-After
+public class ServiceIndisponibleException extends RuntimeException {
+
+    private final long reessaiSecondes;
+
+    public ServiceIndisponibleException(String message, long reessaiSecondes) {
+        super(message);
+        this.reessaiSecondes = reessaiSecondes;
+    }
+
+    public long getReessaiSecondes() {
+        return reessaiSecondes;
+    }
+}
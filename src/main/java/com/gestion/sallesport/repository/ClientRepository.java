@@ -1,20 +1,50 @@
 package com.gestion.sallesport.repository;
 
+import com.gestion.sallesport.dto.AgregatAbonnement;
 import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.event.FicheClient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
     
+    // Résultats gardés dans le cache de requêtes Hibernate, invalidé à chaque écriture sur clients
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Client> findByEmail(String email);
     
     List<Client> findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(String nom, String prenom);
     
     List<Client> findByTypeAbonnement(Client.TypeAbonnement typeAbonnement);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
+
+    // ================================
+    // Liste paginée : Slice ne déclenche pas de COUNT, le total vient de countParAbonnement
+    // ================================
+    Slice<Client> findAllBy(Pageable pageable);
+
+    Slice<Client> findByTypeAbonnement(Client.TypeAbonnement typeAbonnement, Pageable pageable);
+
+    // Nombre de clients par type d'abonnement et inscriptions dans [debut, fin[, en une requête
+    @Query("SELECT new com.gestion.sallesport.dto.AgregatAbonnement(c.typeAbonnement, COUNT(c), " +
+            "SUM(CASE WHEN c.dateInscription >= :debut AND c.dateInscription < :fin THEN 1L ELSE 0L END)) " +
+            "FROM Client c GROUP BY c.typeAbonnement")
+    List<AgregatAbonnement> countParAbonnement(@Param("debut") LocalDate debut, @Param("fin") LocalDate fin);
+
+    // Projection légère pour l'index de recherche (sans hydrater les entités)
+    @Query("SELECT new com.gestion.sallesport.event.FicheClient(c.id, c.nom, c.prenom, c.email, c.telephone) FROM Client c")
+    List<FicheClient> findFiches();
 }
\ No newline at end of file
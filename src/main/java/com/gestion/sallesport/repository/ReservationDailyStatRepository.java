@@ -0,0 +1,51 @@
+package com.gestion.sallesport.repository;
+
+import com.gestion.sallesport.dto.RevenuJour;
+import com.gestion.sallesport.dto.StatistiquesSalle;
+import com.gestion.sallesport.entity.ReservationDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ReservationDailyStatRepository extends JpaRepository<ReservationDailyStat, Long> {
+
+    // Applique un delta à la ligne (salle, jour) ; renvoie 0 si la ligne n'existe pas encore
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReservationDailyStat s SET s.nombreConfirmees = s.nombreConfirmees + :nombre, " +
+            "s.minutesReservees = s.minutesReservees + :minutes, s.revenu = s.revenu + :revenu " +
+            "WHERE s.salleId = :salleId AND s.jour = :jour")
+    int incrementer(@Param("salleId") Long salleId,
+                    @Param("jour") LocalDate jour,
+                    @Param("nombre") long nombre,
+                    @Param("minutes") long minutes,
+                    @Param("revenu") double revenu);
+
+    // ================================
+    // Lectures sur une plage de jours [debut, fin[
+    // ================================
+    @Query("SELECT COALESCE(SUM(s.revenu), 0) FROM ReservationDailyStat s WHERE s.jour >= :debut AND s.jour < :fin")
+    Double sumRevenu(@Param("debut") LocalDate debut, @Param("fin") LocalDate fin);
+
+    @Query("SELECT new com.gestion.sallesport.dto.RevenuJour(s.jour, SUM(s.revenu)) " +
+            "FROM ReservationDailyStat s WHERE s.jour >= :debut AND s.jour < :fin " +
+            "GROUP BY s.jour ORDER BY s.jour")
+    List<RevenuJour> sumRevenuParJour(@Param("debut") LocalDate debut, @Param("fin") LocalDate fin);
+
+    @Query("SELECT new com.gestion.sallesport.dto.StatistiquesSalle(" +
+            "s.salleId, SUM(s.nombreConfirmees), SUM(s.minutesReservees), SUM(s.revenu)) " +
+            "FROM ReservationDailyStat s WHERE s.jour >= :debut AND s.jour < :fin " +
+            "GROUP BY s.salleId")
+    List<StatistiquesSalle> sumParSalle(@Param("debut") LocalDate debut, @Param("fin") LocalDate fin);
+
+    @Query("SELECT COALESCE(SUM(s.minutesReservees), 0) FROM ReservationDailyStat s " +
+            "WHERE s.salleId = :salleId AND s.jour >= :debut AND s.jour < :fin")
+    long sumMinutesReservees(@Param("salleId") Long salleId, @Param("debut") LocalDate debut, @Param("fin") LocalDate fin);
+}
@@ -3,16 +3,25 @@ package com.gestion.sallesport.repository;
 import com.gestion.sallesport.entity.Reservation;
 import com.gestion.sallesport.entity.Client;
 import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.event.EtatReservation;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
+
+    // Plan de chargement de la vue détail : client et salle dans la même requête (associations LAZY par défaut)
+    @EntityGraph(attributePaths = {"client", "salle"})
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findDetailById(@Param("id") Long id);
 
     // ================================
     // Recherches par client ou salle
@@ -40,18 +49,57 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                                                   @Param("dateDebut") LocalDateTime dateDebut,
                                                   @Param("dateFin") LocalDateTime dateFin);
 
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Reservation r " +
+            "WHERE r.salle.id = :salleId " +
+            "AND r.statut = 'CONFIRMEE' " +
+            "AND r.dateDebut <= :dateFin AND r.dateFin >= :dateDebut " +
+            "AND (:idExclu IS NULL OR r.id <> :idExclu)")
+    boolean existsConflictingReservation(@Param("salleId") Long salleId,
+                                         @Param("dateDebut") LocalDateTime dateDebut,
+                                         @Param("dateFin") LocalDateTime dateFin,
+                                         @Param("idExclu") Long idExclu);
+
+    // Projection légère pour alimenter les index mémoire (sans hydrater les entités)
+    @Query("SELECT new com.gestion.sallesport.event.EtatReservation(" +
+            "r.id, r.salle.id, r.salle.type, r.client.id, r.dateDebut, r.dateFin, r.statut, r.prixTotal) " +
+            "FROM Reservation r WHERE r.statut = 'CONFIRMEE' AND r.dateFin >= :depuis")
+    List<EtatReservation> findEtatsConfirmesFinissantApres(@Param("depuis") LocalDateTime depuis);
+
+    @Query("SELECT new com.gestion.sallesport.event.EtatReservation(" +
+            "r.id, r.salle.id, r.salle.type, r.client.id, r.dateDebut, r.dateFin, r.statut, r.prixTotal) " +
+            "FROM Reservation r WHERE r.statut = 'CONFIRMEE'")
+    List<EtatReservation> findEtatsConfirmes();
+
+    @Query("SELECT new com.gestion.sallesport.event.EtatReservation(" +
+            "r.id, r.salle.id, r.salle.type, r.client.id, r.dateDebut, r.dateFin, r.statut, r.prixTotal) " +
+            "FROM Reservation r WHERE r.statut = 'CONFIRMEE' AND r.salle.id IN :salleIds " +
+            "AND r.dateDebut <= :fin AND r.dateFin >= :debut")
+    List<EtatReservation> findEtatsConfirmesPourSalles(@Param("salleIds") Collection<Long> salleIds,
+                                                       @Param("debut") LocalDateTime debut,
+                                                       @Param("fin") LocalDateTime fin);
+
+    // Sans borne de fin : confrontation d'une série sans fin à toutes les réservations à venir de la salle
+    @Query("SELECT new com.gestion.sallesport.event.EtatReservation(" +
+            "r.id, r.salle.id, r.salle.type, r.client.id, r.dateDebut, r.dateFin, r.statut, r.prixTotal) " +
+            "FROM Reservation r WHERE r.statut = 'CONFIRMEE' AND r.salle.id = :salleId AND r.dateFin >= :debut")
+    List<EtatReservation> findEtatsConfirmesPourSalleApres(@Param("salleId") Long salleId,
+                                                           @Param("debut") LocalDateTime debut);
+
+    // Réservations supprimées en cascade avec leur client ou leur salle (Client/Salle.reservations en CascadeType.ALL)
+    @Query("SELECT new com.gestion.sallesport.event.EtatReservation(" +
+            "r.id, r.salle.id, r.salle.type, r.client.id, r.dateDebut, r.dateFin, r.statut, r.prixTotal) " +
+            "FROM Reservation r WHERE r.client.id = :clientId")
+    List<EtatReservation> findEtatsByClientId(@Param("clientId") Long clientId);
+
+    @Query("SELECT new com.gestion.sallesport.event.EtatReservation(" +
+            "r.id, r.salle.id, r.salle.type, r.client.id, r.dateDebut, r.dateFin, r.statut, r.prixTotal) " +
+            "FROM Reservation r WHERE r.salle.id = :salleId")
+    List<EtatReservation> findEtatsBySalleId(@Param("salleId") Long salleId);
+
     // ================================
     // Trier les réservations par date
     // ================================
     List<Reservation> findByClientIdOrderByDateDebutDesc(Long clientId);
 
     List<Reservation> findBySalleIdOrderByDateDebutDesc(Long salleId);
-
-    // ================================
-    // Somme des montants pour le mois courant (Dashboard)
-    // ================================
-    @Query("SELECT SUM(r.prixTotal) FROM Reservation r " +
-            "WHERE MONTH(r.dateDebut) = MONTH(CURRENT_DATE) " +
-            "AND YEAR(r.dateDebut) = YEAR(CURRENT_DATE)")
-    Double sumMontantCurrentMonth();
 }
@@ -0,0 +1,31 @@
+package com.gestion.sallesport.repository;
+
+import com.gestion.sallesport.dto.AgregatStatut;
+import com.gestion.sallesport.dto.CompteursTableauDeBord;
+import com.gestion.sallesport.dto.CurseurPage;
+import com.gestion.sallesport.dto.FiltreReservation;
+import com.gestion.sallesport.dto.OrdreRecence;
+import com.gestion.sallesport.dto.ReservationRow;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReservationRepositoryCustom {
+
+    // Pagination par clé (dateDebut DESC, id DESC) : coût indépendant de la profondeur de la page
+    // Projection ReservationRow en une seule requête jointe : ni entités hydratées ni graphe chargé
+    List<ReservationRow> findPageApres(FiltreReservation filtre, CurseurPage apres, int taille);
+
+    // Nombre et somme des prix par statut en une requête, avec les mêmes filtres que la liste et sur [debut, fin[ si renseignés
+    List<AgregatStatut> aggregateByStatut(FiltreReservation filtre, LocalDateTime debut, LocalDateTime fin);
+
+    // Les taille réservations les plus récentes (création ou début), plus récente d'abord, par ORDER BY ... LIMIT indexé
+    List<ReservationRow> findRecentes(OrdreRecence ordre, int taille);
+
+    // Lignes des réservations demandées, dans un ordre quelconque (accès par clé primaire)
+    List<ReservationRow> findRowsByIds(Collection<Long> ids);
+
+    // Les trois compteurs du tableau de bord en une seule instruction SQL
+    CompteursTableauDeBord compterTableauDeBord();
+}
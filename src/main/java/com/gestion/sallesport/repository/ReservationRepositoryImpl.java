@@ -0,0 +1,123 @@
+package com.gestion.sallesport.repository;
+
+import com.gestion.sallesport.dto.AgregatStatut;
+import com.gestion.sallesport.dto.CompteursTableauDeBord;
+import com.gestion.sallesport.dto.CurseurPage;
+import com.gestion.sallesport.dto.FiltreReservation;
+import com.gestion.sallesport.dto.OrdreRecence;
+import com.gestion.sallesport.dto.ReservationRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Requêtes construites dynamiquement : seuls les filtres renseignés apparaissent dans le WHERE,
+// pour que chaque combinaison utilise l'index adapté
+public class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    private static final String SELECT_ROW = "SELECT new com.gestion.sallesport.dto.ReservationRow(" +
+            "r.id, r.dateDebut, r.dateFin, r.statut, r.prixTotal, " +
+            "c.id, c.nom, c.prenom, c.email, s.id, s.nom, s.type) " +
+            "FROM Reservation r JOIN r.client c JOIN r.salle s";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReservationRow> findPageApres(FiltreReservation filtre, CurseurPage apres, int taille) {
+        StringBuilder jpql = new StringBuilder(SELECT_ROW + " WHERE 1 = 1");
+        ajouterFiltres(jpql, filtre);
+        if (apres != null) {
+            jpql.append(" AND (r.dateDebut < :apresDate OR (r.dateDebut = :apresDate AND r.id < :apresId))");
+        }
+        jpql.append(" ORDER BY r.dateDebut DESC, r.id DESC");
+
+        TypedQuery<ReservationRow> query = entityManager.createQuery(jpql.toString(), ReservationRow.class);
+        lierFiltres(query, filtre);
+        if (apres != null) {
+            query.setParameter("apresDate", apres.dateDebut());
+            query.setParameter("apresId", apres.id());
+        }
+        return query.setMaxResults(taille).getResultList();
+    }
+
+    @Override
+    public List<AgregatStatut> aggregateByStatut(FiltreReservation filtre, LocalDateTime debut, LocalDateTime fin) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.gestion.sallesport.dto.AgregatStatut(" +
+                "r.statut, COUNT(r), SUM(r.prixTotal)) FROM Reservation r WHERE 1 = 1");
+        ajouterFiltres(jpql, filtre);
+        if (debut != null) {
+            jpql.append(" AND r.dateDebut >= :debut");
+        }
+        if (fin != null) {
+            jpql.append(" AND r.dateDebut < :fin");
+        }
+        jpql.append(" GROUP BY r.statut");
+
+        TypedQuery<AgregatStatut> query = entityManager.createQuery(jpql.toString(), AgregatStatut.class);
+        lierFiltres(query, filtre);
+        if (debut != null) {
+            query.setParameter("debut", debut);
+        }
+        if (fin != null) {
+            query.setParameter("fin", fin);
+        }
+        return query.getResultList();
+    }
+
+    // Lecture des taille premières entrées de l'index (date_creation, id) ou (date_debut, id), sans tri en mémoire
+    @Override
+    public List<ReservationRow> findRecentes(OrdreRecence ordre, int taille) {
+        String tri = ordre == OrdreRecence.CREATION
+                ? " ORDER BY r.dateCreation DESC, r.id DESC"
+                : " ORDER BY r.dateDebut DESC, r.id DESC";
+        return entityManager.createQuery(SELECT_ROW + tri, ReservationRow.class)
+                .setMaxResults(taille)
+                .getResultList();
+    }
+
+    @Override
+    public List<ReservationRow> findRowsByIds(Collection<Long> ids) {
+        return entityManager.createQuery(SELECT_ROW + " WHERE r.id IN :ids", ReservationRow.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    // Sous-requêtes scalaires : SQL standard, accepté par PostgreSQL comme par H2
+    @Override
+    public CompteursTableauDeBord compterTableauDeBord() {
+        Object[] ligne = (Object[]) entityManager.createNativeQuery("SELECT " +
+                "(SELECT COUNT(*) FROM clients), " +
+                "(SELECT COUNT(*) FROM salles), " +
+                "(SELECT COUNT(*) FROM reservations)").getSingleResult();
+        return new CompteursTableauDeBord(((Number) ligne[0]).longValue(), ((Number) ligne[1]).longValue(),
+                ((Number) ligne[2]).longValue());
+    }
+
+    private static void ajouterFiltres(StringBuilder jpql, FiltreReservation filtre) {
+        if (filtre.statut() != null) {
+            jpql.append(" AND r.statut = :statut");
+        }
+        if (filtre.salleId() != null) {
+            jpql.append(" AND r.salle.id = :salleId");
+        }
+        if (filtre.clientId() != null) {
+            jpql.append(" AND r.client.id = :clientId");
+        }
+    }
+
+    private static void lierFiltres(TypedQuery<?> query, FiltreReservation filtre) {
+        if (filtre.statut() != null) {
+            query.setParameter("statut", filtre.statut());
+        }
+        if (filtre.salleId() != null) {
+            query.setParameter("salleId", filtre.salleId());
+        }
+        if (filtre.clientId() != null) {
+            query.setParameter("clientId", filtre.clientId());
+        }
+    }
+}
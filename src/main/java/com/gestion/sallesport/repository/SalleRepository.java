@@ -1,6 +1,8 @@
 package com.gestion.sallesport.repository;
 
+import com.gestion.sallesport.dto.SallePopulaire;
 import com.gestion.sallesport.entity.Salle;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,13 +13,13 @@ import java.util.List;
 
 @Repository
 public interface SalleRepository extends JpaRepository<Salle, Long> {
-    
+
     List<Salle> findByDisponibleTrue();
-    
+
     List<Salle> findByType(String type);
-    
+
     List<Salle> findByCapaciteGreaterThanEqual(Integer capacite);
-    
+
     @Query("SELECT s FROM Salle s WHERE s.prixHeure <= :prixMax")
     List<Salle> findByPrixHeureMax(@Param("prixMax") Double prixMax);
     
@@ -27,4 +29,12 @@ public interface SalleRepository extends JpaRepository<Salle, Long> {
            "AND ((r.dateDebut <= :dateFin AND r.dateFin >= :dateDebut)))")
     List<Salle> findSallesDisponibles(@Param("dateDebut") LocalDateTime dateDebut, 
                                       @Param("dateFin") LocalDateTime dateFin);
+
+    // Classement des salles par nombre de réservations : comptage et LIMIT faits en base
+    // (le taux d'occupation est complété par SalleOccupationService)
+    @Query("SELECT new com.gestion.sallesport.dto.SallePopulaire(s.id, s.nom, s.capacite, s.prixHeure, COUNT(r), 0.0) " +
+           "FROM Salle s LEFT JOIN Reservation r ON r.salle = s " +
+           "GROUP BY s.id, s.nom, s.capacite, s.prixHeure " +
+           "ORDER BY COUNT(r) DESC, s.id")
+    List<SallePopulaire> findSallesPopulaires(Pageable pageable);
 }
\ No newline at end of file
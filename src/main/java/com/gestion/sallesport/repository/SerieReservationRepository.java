@@ -0,0 +1,29 @@
+package com.gestion.sallesport.repository;
+
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.SerieReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SerieReservationRepository extends JpaRepository<SerieReservation, Long> {
+
+    List<SerieReservation> findByStatut(Reservation.StatutReservation statut);
+
+    List<SerieReservation> findBySalleIdAndStatut(Long salleId, Reservation.StatutReservation statut);
+
+    // Séries non annulées dont la période couvre au moins en partie la fenêtre
+    @Query("SELECT DISTINCT s FROM SerieReservation s " +
+            "JOIN FETCH s.client JOIN FETCH s.salle LEFT JOIN FETCH s.exceptions " +
+            "WHERE s.statut <> 'ANNULEE' " +
+            "AND s.premierDebut <= :fin " +
+            "AND (s.dateFinRecurrence IS NULL OR s.dateFinRecurrence >= :jourDebut)")
+    List<SerieReservation> findActivesIntersectant(@Param("jourDebut") LocalDate jourDebut,
+                                                   @Param("fin") LocalDateTime fin);
+}
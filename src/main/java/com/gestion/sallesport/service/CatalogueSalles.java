@@ -0,0 +1,52 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.config.CacheConfig;
+import com.gestion.sallesport.dto.FicheSalle;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.repository.SalleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Listes du catalogue des salles mises en cache, invalidées par les écritures de SalleService.
+// Le cache ne contient que des listes immuables de FicheSalle : aucun appelant ne peut modifier
+// ce que voient les autres threads, et les entités gérées restent hors du cache.
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CatalogueSalles {
+
+    private final SalleRepository salleRepository;
+
+    @Cacheable(cacheNames = CacheConfig.CATALOGUE_SALLES, key = "'toutes'")
+    public List<FicheSalle> toutes() {
+        return fiches(salleRepository.findAll());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATALOGUE_SALLES, key = "'disponibles'")
+    public List<FicheSalle> disponibles() {
+        return fiches(salleRepository.findByDisponibleTrue());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATALOGUE_SALLES, key = "'type:' + #p0")
+    public List<FicheSalle> parType(String type) {
+        return fiches(salleRepository.findByType(type));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATALOGUE_SALLES, key = "'capaciteMin:' + #p0")
+    public List<FicheSalle> parCapaciteMin(Integer capacite) {
+        return fiches(salleRepository.findByCapaciteGreaterThanEqual(capacite));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CATALOGUE_SALLES, key = "'prixMax:' + #p0")
+    public List<FicheSalle> parPrixMax(Double prixMax) {
+        return fiches(salleRepository.findByPrixHeureMax(prixMax));
+    }
+
+    private static List<FicheSalle> fiches(List<Salle> salles) {
+        return salles.stream().map(FicheSalle::of).toList();
+    }
+}
@@ -0,0 +1,201 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.event.ClientModifieEvent;
+import com.gestion.sallesport.event.FicheClient;
+import com.gestion.sallesport.repository.ClientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Index mémoire de recherche des clients par préfixe de mot.
+// Mots indexés (minuscules, sans accents) : nom, prénom, parties de l'email,
+// et pour le téléphone tous les suffixes d'au moins 3 chiffres (on tape souvent la fin du numéro).
+// Chaque mot de la recherche doit être le préfixe d'un mot du client ; un mot exact compte double.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ClientSearchIndex {
+
+    private static final int LONGUEUR_MIN_SUFFIXE_TELEPHONE = 3;
+
+    private final ClientRepository clientRepository;
+
+    private final NavigableMap<String, Set<Long>> idsParMot = new TreeMap<>();
+    private final Map<Long, FicheClient> fiches = new HashMap<>();
+    private final Map<Long, Set<String>> motsParClient = new HashMap<>();
+    private final ReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    private volatile boolean pret = false;
+
+    // Lecture de la base sous le verrou d'écriture : un ClientModifieEvent publié pendant la reconstruction
+    // attend le verrou et s'applique sur l'instantané, au lieu d'être écrasé par un instantané plus ancien.
+    // Un événement appliqué avant la reconstruction est effacé, mais son commit est déjà dans l'instantané.
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruire() {
+        List<FicheClient> clients;
+        verrou.writeLock().lock();
+        try {
+            clients = clientRepository.findFiches();
+            idsParMot.clear();
+            fiches.clear();
+            motsParClient.clear();
+            clients.forEach(this::indexer);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+        pret = true;
+        log.info("Index de recherche des clients construit : {} clients, {} mots", clients.size(), idsParMot.size());
+    }
+
+    public boolean estPret() {
+        return pret;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void surClientModifie(ClientModifieEvent event) {
+        verrou.writeLock().lock();
+        try {
+            desindexer(event.clientId());
+            if (event.fiche() != null) {
+                indexer(event.fiche());
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // Les limite meilleurs clients, du plus pertinent au moins pertinent
+    public List<FicheClient> rechercher(String recherche, int limite) {
+        List<String> termes = mots(recherche);
+        if (termes.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        verrou.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String terme : termes) {
+                Map<Long, Integer> scoresTerme = scoresPourPrefixe(terme);
+                if (scores == null) {
+                    scores = scoresTerme;
+                } else {
+                    scores.keySet().retainAll(scoresTerme.keySet());
+                    scores.replaceAll((id, score) -> score + scoresTerme.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return meilleurs(scores, limite);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> scoresPourPrefixe(String prefixe) {
+        Map<Long, Integer> scores = new HashMap<>();
+        idsParMot.subMap(prefixe, true, prefixe + Character.MAX_VALUE, false).forEach((mot, ids) -> {
+            int score = mot.equals(prefixe) ? 2 : 1;
+            ids.forEach(id -> scores.merge(id, score, Math::max));
+        });
+        return scores;
+    }
+
+    // Sélection partielle par tas borné : O(n log limite) ; à score égal, ordre alphabétique nom puis prénom
+    private List<FicheClient> meilleurs(Map<Long, Integer> scores, int limite) {
+        Comparator<FicheClient> ordre = Comparator.<FicheClient>comparingInt(fiche -> scores.get(fiche.id()))
+                .reversed()
+                .thenComparing(fiche -> normaliser(fiche.nom()))
+                .thenComparing(fiche -> normaliser(fiche.prenom()))
+                .thenComparing(FicheClient::id);
+        PriorityQueue<FicheClient> tas = new PriorityQueue<>(ordre.reversed());
+        for (Long id : scores.keySet()) {
+            tas.offer(fiches.get(id));
+            if (tas.size() > limite) {
+                tas.poll();
+            }
+        }
+        List<FicheClient> resultat = new ArrayList<>(tas);
+        resultat.sort(ordre);
+        return resultat;
+    }
+
+    private void indexer(FicheClient fiche) {
+        Set<String> mots = motsIndexes(fiche);
+        fiches.put(fiche.id(), fiche);
+        motsParClient.put(fiche.id(), mots);
+        mots.forEach(mot -> idsParMot.computeIfAbsent(mot, m -> new HashSet<>()).add(fiche.id()));
+    }
+
+    private void desindexer(Long clientId) {
+        fiches.remove(clientId);
+        Set<String> mots = motsParClient.remove(clientId);
+        if (mots == null) {
+            return;
+        }
+        for (String mot : mots) {
+            Set<Long> ids = idsParMot.get(mot);
+            if (ids != null) {
+                ids.remove(clientId);
+                if (ids.isEmpty()) {
+                    idsParMot.remove(mot);
+                }
+            }
+        }
+    }
+
+    static Set<String> motsIndexes(FicheClient fiche) {
+        Set<String> mots = new LinkedHashSet<>();
+        mots.addAll(mots(fiche.nom()));
+        mots.addAll(mots(fiche.prenom()));
+        mots.addAll(mots(fiche.email()));
+        if (fiche.telephone() != null) {
+            String chiffres = fiche.telephone().replaceAll("\\D", "");
+            for (int debut = 0; debut <= chiffres.length() - LONGUEUR_MIN_SUFFIXE_TELEPHONE; debut++) {
+                mots.add(chiffres.substring(debut));
+            }
+        }
+        return mots;
+    }
+
+    // Découpe sur tout ce qui n'est ni lettre ni chiffre : "jean-luc.rakoto@mail.mg" -> jean, luc, rakoto, mail, mg
+    static List<String> mots(String texte) {
+        if (texte == null || texte.isBlank()) {
+            return List.of();
+        }
+        List<String> mots = new ArrayList<>();
+        for (String mot : normaliser(texte).split("[^\\p{L}\\p{N}]+")) {
+            if (!mot.isEmpty()) {
+                mots.add(mot);
+            }
+        }
+        return mots;
+    }
+
+    static String normaliser(String texte) {
+        if (texte == null) {
+            return "";
+        }
+        return Normalizer.normalize(texte, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase();
+    }
+}
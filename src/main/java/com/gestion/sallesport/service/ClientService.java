@@ -1,20 +1,48 @@
 package com.gestion.sallesport.service;
 
+import com.gestion.sallesport.config.MetricsConfig;
+import com.gestion.sallesport.dto.ClientStatistiques;
 import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.event.ClientModifieEvent;
+import com.gestion.sallesport.event.FicheClient;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
 import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.TIMER_SERVICES)
 @Transactional
 public class ClientService {
 
     private final ClientRepository clientRepository;
+    private final ReservationRepository reservationRepository;
+    private final ClientSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public static final int TAILLE_PAGE_MAX = 200;
+
+    // Nombre maximal de clients renvoyés par une recherche
+    @Value("${client.recherche.limite:50}")
+    private int limiteRecherche = 50;
 
     public List<Client> getAllClients() {
         return clientRepository.findAll();
@@ -32,7 +60,9 @@ public class ClientService {
         if (clientRepository.existsByEmail(client.getEmail())) {
             throw new RuntimeException("Un client avec cet email existe déjà : " + client.getEmail());
         }
-        return clientRepository.save(client);
+        Client saved = clientRepository.save(client);
+        eventPublisher.publishEvent(ClientModifieEvent.enregistrement(FicheClient.of(saved)));
+        return saved;
     }
 
     public Client updateClient(Long id, Client clientDetails) {
@@ -51,23 +81,61 @@ public class ClientService {
         client.setAdresse(clientDetails.getAdresse());
         client.setTypeAbonnement(clientDetails.getTypeAbonnement());
 
-        return clientRepository.save(client);
+        Client saved = clientRepository.save(client);
+        eventPublisher.publishEvent(ClientModifieEvent.enregistrement(FicheClient.of(saved)));
+        return saved;
     }
 
     public void deleteClient(Long id) {
         Client client = clientRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Client non trouvé avec l'id : " + id));
+        // Ses réservations partent en cascade : les index mémoire doivent les retirer eux aussi
+        reservationRepository.findEtatsByClientId(id)
+                .forEach(etat -> eventPublisher.publishEvent(ReservationModifieeEvent.suppression(etat)));
         clientRepository.delete(client);
+        eventPublisher.publishEvent(ClientModifieEvent.suppression(id));
     }
 
+    // Recherche par préfixes dans l'index mémoire, puis chargement des seuls clients retenus, dans l'ordre de pertinence.
+    // Requête LIKE tant que l'index n'est pas construit.
+    @Transactional(readOnly = true)
     public List<Client> searchClients(String searchTerm) {
-        return clientRepository.findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(searchTerm, searchTerm);
+        if (!searchIndex.estPret()) {
+            return clientRepository.findByNomContainingIgnoreCaseOrPrenomContainingIgnoreCase(searchTerm, searchTerm);
+        }
+        List<Long> ids = rechercherFiches(searchTerm, limiteRecherche).stream().map(FicheClient::id).toList();
+        Map<Long, Integer> rang = ids.stream().collect(Collectors.toMap(Function.identity(), ids::indexOf));
+        return clientRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(client -> rang.get(client.getId())))
+                .toList();
+    }
+
+    // Suggestions pour la saisie semi-automatique, servies sans accès à la base
+    public List<FicheClient> rechercherFiches(String searchTerm, int limite) {
+        return searchIndex.rechercher(searchTerm, Math.min(limite, limiteRecherche));
     }
 
     public List<Client> getClientsByAbonnement(Client.TypeAbonnement typeAbonnement) {
         return clientRepository.findByTypeAbonnement(typeAbonnement);
     }
 
+    // Une page de clients triés par nom, prénom ; type optionnel
+    @Transactional(readOnly = true)
+    public Slice<Client> getClientsPage(Client.TypeAbonnement typeAbonnement, int page, int taille) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(taille, 1), TAILLE_PAGE_MAX),
+                Sort.by("nom", "prenom", "id"));
+        return typeAbonnement == null
+                ? clientRepository.findAllBy(pageable)
+                : clientRepository.findByTypeAbonnement(typeAbonnement, pageable);
+    }
+
+    // Répartition par abonnement et inscriptions du mois courant, en une requête agrégée
+    @Transactional(readOnly = true)
+    public ClientStatistiques getStatistiques() {
+        LocalDate debutMois = LocalDate.now().withDayOfMonth(1);
+        return ClientStatistiques.of(clientRepository.countParAbonnement(debutMois, debutMois.plusMonths(1)));
+    }
+
     // ✅ Nouvelle méthode pour le dashboard
     public long countClients() {
         return clientRepository.count();
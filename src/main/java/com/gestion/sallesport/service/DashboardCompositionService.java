@@ -0,0 +1,99 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.config.CompteurRequetesSql;
+import com.gestion.sallesport.dto.CompteursTableauDeBord;
+import com.gestion.sallesport.dto.OrdreRecence;
+import com.gestion.sallesport.dto.ReservationRow;
+import com.gestion.sallesport.dto.SallePopulaire;
+import com.gestion.sallesport.dto.TableauDeBord;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Tableau de bord : les widgets sont des requêtes indépendantes, lancées en parallèle sur un pool borné.
+// La latence devient celle du widget le plus lent, plafonnée par dashboard.widgets.timeout-ms.
+// Chaque widget occupe une connexion JDBC pendant sa requête : threads x requêtes simultanées
+// doit rester sous la taille du pool Hikari.
+@Service
+@Slf4j
+public class DashboardCompositionService {
+
+    private final DashboardService dashboardService;
+    private final ReservationsRecentes reservationsRecentes;
+    private final ThreadPoolExecutor executor;
+
+    @Value("${dashboard.widgets.timeout-ms:2000}")
+    private long timeoutMs = 2000;
+
+    public DashboardCompositionService(DashboardService dashboardService,
+                                       ReservationsRecentes reservationsRecentes,
+                                       @Value("${dashboard.composition.threads:8}") int threads,
+                                       @Value("${dashboard.composition.file-max:100}") int fileMax) {
+        if (threads < 1 || fileMax < 1) {
+            throw new IllegalArgumentException("Pool du tableau de bord invalide : threads=" + threads + ", file-max=" + fileMax);
+        }
+        this.dashboardService = dashboardService;
+        this.reservationsRecentes = reservationsRecentes;
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fileMax),
+                tache -> {
+                    Thread thread = new Thread(tache, "tableau-de-bord-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Pool saturé : widget refusé et signalé indisponible. CallerRunsPolicy le calculerait sur le
+                // thread de la requête, hors de portée de orTimeout
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public TableauDeBord composer() {
+        List<String> indisponibles = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<CompteursTableauDeBord> compteurs =
+                widget("compteurs", dashboardService::compteurs, indisponibles);
+        CompletableFuture<Double> revenuMois =
+                widget("revenu du mois", dashboardService::revenueMonth, indisponibles);
+        CompletableFuture<List<ReservationRow>> recentes = widget("réservations récentes",
+                () -> reservationsRecentes.dernieres(OrdreRecence.CREATION, 5), indisponibles);
+        CompletableFuture<List<SallePopulaire>> populaires =
+                widget("salles populaires", () -> dashboardService.sallesPopulaires(5), indisponibles);
+
+        CompletableFuture.allOf(compteurs, revenuMois, recentes, populaires).join();
+        return new TableauDeBord(compteurs.join(), revenuMois.join(), recentes.join(), populaires.join(),
+                List.copyOf(indisponibles));
+    }
+
+    // Un widget en retard ou refusé par le pool est abandonné (null) ; une requête en retard se termine en arrière-plan
+    private <T> CompletableFuture<T> widget(String nom, Supplier<T> calcul, List<String> indisponibles) {
+        CompletableFuture<T> calculAsync;
+        try {
+            calculAsync = CompletableFuture.supplyAsync(CompteurRequetesSql.propager(calcul), executor);
+        } catch (RejectedExecutionException e) {
+            calculAsync = CompletableFuture.failedFuture(e);
+        }
+        return calculAsync
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(erreur -> {
+                    log.warn("Widget '{}' du tableau de bord indisponible : {}", nom, erreur.toString());
+                    indisponibles.add(nom);
+                    return null;
+                });
+    }
+
+    @PreDestroy
+    public void arreter() {
+        executor.shutdownNow();
+    }
+}
@@ -1,36 +1,95 @@
 package com.gestion.sallesport.service;
 
-import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.config.MetricsConfig;
+import com.gestion.sallesport.dto.CompteursTableauDeBord;
+import com.gestion.sallesport.dto.Granularite;
+import com.gestion.sallesport.dto.RevenuJour;
+import com.gestion.sallesport.dto.RevenuPeriode;
+import com.gestion.sallesport.dto.SallePopulaire;
+import com.gestion.sallesport.dto.TauxOccupation;
+import com.gestion.sallesport.repository.ReservationDailyStatRepository;
 import com.gestion.sallesport.repository.ReservationRepository;
 import com.gestion.sallesport.repository.SalleRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.TIMER_SERVICES)
 public class DashboardService {
 
-    private final ClientRepository clientRepository;
     private final SalleRepository salleRepository;
     private final ReservationRepository reservationRepository;
+    private final ReservationDailyStatRepository dailyStatRepository;
+    private final SalleOccupationService occupationService;
+
+    // Nombre maximal de périodes d'une courbe de revenus (une année de jours et un peu plus)
+    @Value("${dashboard.revenus.periodes-max:400}")
+    private int periodesMax = 400;
 
-    public long countClients() {
-        return clientRepository.count();
+    public CompteursTableauDeBord compteurs() {
+        return reservationRepository.compterTableauDeBord();
     }
 
-    public long countSalles() {
-        return salleRepository.count();
+    // Revenu des réservations confirmées du mois courant
+    public double revenueMonth() {
+        LocalDate debutMois = Granularite.MOIS.debutPeriode(LocalDate.now());
+        return revenu(debutMois, Granularite.MOIS.periodeSuivante(debutMois));
     }
 
-    public long countReservations() {
-        return reservationRepository.count();
+    // Revenu des réservations confirmées commençant dans [debut, fin[, lu dans les agrégats journaliers
+    public double revenu(LocalDate debut, LocalDate fin) {
+        return dailyStatRepository.sumRevenu(debut, fin);
     }
 
-    public double revenueMonth() {
-        // Exemple simple : somme du prixTotal des réservations confirmées du mois courant
-        return reservationRepository.findAll().stream()
-                .filter(r -> r.getStatut().name().equals("CONFIRMEE"))
-                .mapToDouble(r -> r.getPrixTotal())
-                .sum();
+    // Revenu par jour, semaine ou mois sur [debut, fin[ : une seule requête sur les agrégats journaliers,
+    // regroupée ensuite par période (les périodes sans réservation valent 0).
+    // La première et la dernière période sont rognées à [debut, fin[ : rien n'est compté hors de la plage.
+    public List<RevenuPeriode> revenuParPeriode(LocalDate debut, LocalDate fin, Granularite granularite) {
+        if (!debut.isBefore(fin)) {
+            throw new RuntimeException("La date de début doit être avant la date de fin");
+        }
+        Map<LocalDate, Double> montants = new TreeMap<>();
+        LocalDate borne = debut;
+        while (borne.isBefore(fin)) {
+            if (montants.size() == periodesMax) {
+                throw new RuntimeException("Plage trop longue : au plus " + periodesMax + " périodes par requête");
+            }
+            montants.put(borne, 0.0);
+            borne = granularite.periodeSuivante(granularite.debutPeriode(borne));
+        }
+
+        for (RevenuJour jour : dailyStatRepository.sumRevenuParJour(debut, fin)) {
+            montants.merge(max(granularite.debutPeriode(jour.jour()), debut), jour.montant(), Double::sum);
+        }
+
+        return montants.entrySet().stream()
+                .map(e -> new RevenuPeriode(e.getKey(),
+                        min(granularite.periodeSuivante(granularite.debutPeriode(e.getKey())), fin), e.getValue()))
+                .toList();
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // Top N des salles par nombre de réservations, avec leur taux d'occupation sur la fenêtre glissante
+    public List<SallePopulaire> sallesPopulaires(int limite) {
+        Map<Long, TauxOccupation> taux = occupationService.tauxParSalle();
+        return salleRepository.findSallesPopulaires(PageRequest.of(0, limite)).stream()
+                .map(salle -> salle.withOccupancyRate(occupationService.tauxOuZero(taux, salle.getId())))
+                .toList();
     }
 }
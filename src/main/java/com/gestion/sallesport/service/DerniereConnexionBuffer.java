@@ -0,0 +1,77 @@
+package com.gestion.sallesport.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Dernières connexions en attente d'écriture : une entrée par utilisateur (la plus récente),
+// écrites périodiquement par un seul UPDATE groupé au lieu d'une transaction par connexion.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DerniereConnexionBuffer {
+
+    // La condition sur last_login évite qu'une instance en retard n'écrase une connexion plus récente
+    static final String SQL_MISE_A_JOUR =
+            "UPDATE users SET last_login = ? WHERE username = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, LocalDateTime> enAttente = new ConcurrentHashMap<>();
+
+    public void enregistrer(String username, LocalDateTime instant) {
+        enAttente.merge(username, instant, (ancien, nouveau) -> nouveau.isAfter(ancien) ? nouveau : ancien);
+    }
+
+    @EventListener
+    public void surAuthentificationReussie(AuthenticationSuccessEvent event) {
+        enregistrer(event.getAuthentication().getName(), LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${utilisateurs.derniere-connexion.intervalle-ms:30000}")
+    public void ecrire() {
+        if (enAttente.isEmpty()) {
+            return;
+        }
+        Map<String, LocalDateTime> retirees = new HashMap<>();
+        List<Object[]> lignes = new ArrayList<>();
+        for (String username : enAttente.keySet()) {
+            LocalDateTime instant = enAttente.remove(username);
+            if (instant != null) {
+                retirees.put(username, instant);
+                Timestamp horodatage = Timestamp.valueOf(instant);
+                lignes.add(new Object[]{horodatage, username, horodatage});
+            }
+        }
+        if (lignes.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(SQL_MISE_A_JOUR, lignes);
+            log.debug("Dernières connexions écrites : {} utilisateurs", lignes.size());
+        } catch (DataAccessException e) {
+            // Remises en attente pour le prochain passage, sans écraser une connexion arrivée entre-temps
+            retirees.forEach(this::enregistrer);
+            log.warn("Écriture des dernières connexions reportée ({} utilisateurs) : {}", retirees.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void vider() {
+        ecrire();
+    }
+}
@@ -0,0 +1,268 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.ChangementDisponibilite;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.event.SerieModifieeEvent;
+import com.gestion.sallesport.exception.ServiceIndisponibleException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Flux SSE des changements de disponibilité des salles, publiés après commit par ReservationService
+// (et l'import). Un changement est calculé une fois puis distribué aux écrans dont le filtre correspond.
+// Une série récurrente couvre un nombre de créneaux potentiellement illimité et ses occurrences n'ont pas
+// d'identifiant : sa modification envoie "resynchronisation" aux écrans de la salle, pas un changement par occurrence.
+// Chaque abonné a sa propre file bornée, vidée par un petit pool : un écran lent ne bloque ni les autres
+// ni la transaction. File pleine : les plus anciens changements sont abandonnés et l'écran reçoit
+// un événement "resynchronisation" l'invitant à recharger la disponibilité complète.
+@Component
+@Slf4j
+public class DisponibiliteFlux {
+
+    static final String EVENEMENT_CHANGEMENT = "disponibilite";
+    static final String EVENEMENT_RESYNCHRONISATION = "resynchronisation";
+
+    private final ThreadPoolExecutor executor;
+    private final Set<Abonne> abonnes = ConcurrentHashMap.newKeySet();
+    // Places réservées avant l'ajout dans abonnes, rendues au retrait : le plafond tient sous la concurrence
+    private final AtomicInteger places = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${disponibilite.flux.abonnes-max:500}")
+    private int abonnesMax = 500;
+
+    @Value("${disponibilite.flux.file-max:100}")
+    private int fileMax = 100;
+
+    @Value("${disponibilite.flux.timeout-ms:1800000}")
+    private long timeoutMs = 1_800_000;
+
+    @Value("${disponibilite.flux.reessai-secondes:30}")
+    private long reessaiSecondes = 30;
+
+    public DisponibiliteFlux(@Value("${disponibilite.flux.threads:4}") int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Pool du flux de disponibilité invalide : threads=" + threads);
+        }
+        AtomicInteger numero = new AtomicInteger();
+        // Au plus une tâche en attente par abonné : la file du pool est bornée par le nombre d'abonnés
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                tache -> {
+                    Thread thread = new Thread(tache, "flux-disponibilite-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // salleIds vide et type null : toutes les salles
+    public SseEmitter abonner(Set<Long> salleIds, String type) {
+        if (places.incrementAndGet() > abonnesMax) {
+            places.decrementAndGet();
+            throw new ServiceIndisponibleException(
+                    "Trop d'écrans abonnés au flux de disponibilité, réessayez plus tard", reessaiSecondes);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Abonne abonne = new Abonne(emitter, salleIds, type, fileMax);
+        abonnes.add(abonne);
+        emitter.onCompletion(() -> retirer(abonne));
+        emitter.onTimeout(() -> retirer(abonne));
+        emitter.onError(erreur -> retirer(abonne));
+        return emitter;
+    }
+
+    // Appelé par plusieurs rappels pour un même écran : la place n'est rendue qu'une fois
+    private void retirer(Abonne abonne) {
+        if (abonnes.remove(abonne)) {
+            places.decrementAndGet();
+        }
+    }
+
+    public int nombreAbonnes() {
+        return abonnes.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void surReservationModifiee(ReservationModifieeEvent event) {
+        if (abonnes.isEmpty()) {
+            return;
+        }
+        List<ChangementDisponibilite> changements = changements(event);
+        if (changements.isEmpty()) {
+            return;
+        }
+        for (Abonne abonne : abonnes) {
+            boolean aEnvoyer = false;
+            for (ChangementDisponibilite changement : changements) {
+                if (abonne.accepte(changement)) {
+                    abonne.offrir(changement);
+                    aEnvoyer = true;
+                }
+            }
+            if (aEnvoyer) {
+                planifier(abonne);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void surSerieModifiee(SerieModifieeEvent event) {
+        for (Abonne abonne : abonnes) {
+            if (abonne.resynchroniserSiConcerne(event.salleId(), event.salleType())) {
+                planifier(abonne);
+            }
+        }
+    }
+
+    // Garde les connexions ouvertes à travers les proxys et détecte les écrans déconnectés
+    @Scheduled(fixedDelayString = "${disponibilite.flux.battement-ms:15000}")
+    public void battement() {
+        for (Abonne abonne : abonnes) {
+            abonne.battementDemande.set(true);
+            planifier(abonne);
+        }
+    }
+
+    @PreDestroy
+    public void arreter() {
+        abonnes.forEach(abonne -> abonne.emitter.complete());
+        abonnes.clear();
+        places.set(0);
+        executor.shutdownNow();
+    }
+
+    private void planifier(Abonne abonne) {
+        if (abonne.envoiPlanifie.compareAndSet(false, true)) {
+            executor.execute(() -> vider(abonne));
+        }
+    }
+
+    // Un seul thread à la fois par abonné (envoiPlanifie) : l'ordre des changements est conservé
+    private void vider(Abonne abonne) {
+        try {
+            if (abonne.resynchronisationDue.getAndSet(false)) {
+                abonne.emitter.send(SseEmitter.event().name(EVENEMENT_RESYNCHRONISATION).data(""));
+            }
+            ChangementDisponibilite changement;
+            while ((changement = abonne.prendre()) != null) {
+                abonne.emitter.send(SseEmitter.event()
+                        .id(Long.toString(sequence.incrementAndGet()))
+                        .name(EVENEMENT_CHANGEMENT)
+                        .data(changement));
+            }
+            if (abonne.battementDemande.getAndSet(false)) {
+                abonne.emitter.send(SseEmitter.event().comment("battement"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Écran déconnecté du flux de disponibilité : {}", e.getMessage());
+            retirer(abonne);
+            abonne.emitter.completeWithError(e);
+            return;
+        } finally {
+            abonne.envoiPlanifie.set(false);
+        }
+        // Changements arrivés pendant l'envoi
+        if (abonne.aDesChangements() || abonne.resynchronisationDue.get()) {
+            planifier(abonne);
+        }
+    }
+
+    // Seules les réservations confirmées occupent une salle : une confirmation occupe, une annulation
+    // ou une suppression libère, un déplacement libère l'ancien créneau et occupe le nouveau
+    // Le type de salle vient de l'état publié : aucune lecture en base dans l'écouteur après commit
+    static List<ChangementDisponibilite> changements(ReservationModifieeEvent event) {
+        EtatReservation avant = event.avant() != null && event.avant().estConfirmee() ? event.avant() : null;
+        EtatReservation apres = event.apres() != null && event.apres().estConfirmee() ? event.apres() : null;
+        if (avant != null && apres != null
+                && Objects.equals(avant.salleId(), apres.salleId())
+                && Objects.equals(avant.dateDebut(), apres.dateDebut())
+                && Objects.equals(avant.dateFin(), apres.dateFin())) {
+            return List.of();
+        }
+        List<ChangementDisponibilite> changements = new ArrayList<>(2);
+        if (avant != null) {
+            changements.add(new ChangementDisponibilite(avant.id(), avant.salleId(), avant.salleType(),
+                    avant.dateDebut(), avant.dateFin(), false));
+        }
+        if (apres != null) {
+            changements.add(new ChangementDisponibilite(apres.id(), apres.salleId(), apres.salleType(),
+                    apres.dateDebut(), apres.dateFin(), true));
+        }
+        return changements;
+    }
+
+    static final class Abonne {
+
+        final SseEmitter emitter;
+        private final Set<Long> salleIds;
+        private final String type;
+        private final int fileMax;
+        private final Deque<ChangementDisponibilite> file = new ArrayDeque<>();
+
+        final AtomicBoolean envoiPlanifie = new AtomicBoolean();
+        final AtomicBoolean resynchronisationDue = new AtomicBoolean();
+        final AtomicBoolean battementDemande = new AtomicBoolean();
+
+        Abonne(SseEmitter emitter, Set<Long> salleIds, String type, int fileMax) {
+            this.emitter = emitter;
+            this.salleIds = salleIds != null ? Set.copyOf(salleIds) : Set.of();
+            this.type = type;
+            this.fileMax = fileMax;
+        }
+
+        boolean accepte(ChangementDisponibilite changement) {
+            return accepte(changement.salleId(), changement.salleType());
+        }
+
+        boolean accepte(Long salleId, String salleType) {
+            return (salleIds.isEmpty() || salleIds.contains(salleId))
+                    && (type == null || type.equalsIgnoreCase(salleType));
+        }
+
+        // Série modifiée sur une salle suivie : l'écran doit recharger la disponibilité
+        boolean resynchroniserSiConcerne(Long salleId, String salleType) {
+            if (!accepte(salleId, salleType)) {
+                return false;
+            }
+            resynchronisationDue.set(true);
+            return true;
+        }
+
+        // File pleine : le plus ancien changement est abandonné et une resynchronisation est due
+        synchronized void offrir(ChangementDisponibilite changement) {
+            if (file.size() >= fileMax) {
+                file.pollFirst();
+                resynchronisationDue.set(true);
+            }
+            file.addLast(changement);
+        }
+
+        synchronized ChangementDisponibilite prendre() {
+            return file.pollFirst();
+        }
+
+        synchronized boolean aDesChangements() {
+            return !file.isEmpty();
+        }
+    }
+}
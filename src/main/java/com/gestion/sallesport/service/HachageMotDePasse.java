@@ -0,0 +1,60 @@
+package com.gestion.sallesport.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pool dédié au hachage des mots de passe : BCrypt/Argon2 coûtent volontairement cher en CPU.
+// Le nombre de threads borne la charge CPU, la file bornée refuse l'excédent au lieu d'accumuler.
+@Component
+@Slf4j
+public class HachageMotDePasse {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    public HachageMotDePasse(PasswordEncoder passwordEncoder,
+                             @Value("${securite.mot-de-passe.hachage.threads:2}") int threads,
+                             @Value("${securite.mot-de-passe.hachage.file-max:100}") int fileMax) {
+        if (threads < 1 || fileMax < 1) {
+            throw new IllegalArgumentException("Pool de hachage invalide : threads=" + threads + ", file-max=" + fileMax);
+        }
+        this.passwordEncoder = passwordEncoder;
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fileMax),
+                tache -> {
+                    Thread thread = new Thread(tache, "hachage-mdp-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> encoder(String motDePasse) {
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(motDePasse), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Trop de mots de passe en cours de hachage, réessayez plus tard"));
+        }
+    }
+
+    @PreDestroy
+    public void arreter() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Hachages de mots de passe interrompus à l'arrêt : {} en file", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.gestion.sallesport.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Créneaux d'une salle triés par début. La durée maximale observée borne la zone à parcourir :
+// seul un créneau commençant entre (debut - dureeMax) et fin peut chevaucher [debut, fin].
+final class PlanningSalle {
+
+    private final NavigableMap<CleCreneau, LocalDateTime> creneaux = new TreeMap<>();
+    private final Map<Long, CleCreneau> clesParId = new HashMap<>();
+    private Duration dureeMax = Duration.ZERO;
+
+    synchronized void ajouter(Long id, LocalDateTime debut, LocalDateTime fin) {
+        retirer(id);
+        CleCreneau cle = new CleCreneau(debut, id);
+        creneaux.put(cle, fin);
+        clesParId.put(id, cle);
+
+        Duration duree = Duration.between(debut, fin);
+        if (duree.compareTo(dureeMax) > 0) {
+            dureeMax = duree;
+        }
+        purgerTerminees(LocalDateTime.now());
+    }
+
+    synchronized void retirer(Long id) {
+        CleCreneau cle = clesParId.remove(id);
+        if (cle != null) {
+            creneaux.remove(cle);
+        }
+    }
+
+    // Bornes incluses, comme findConflictingReservations
+    synchronized boolean chevauche(LocalDateTime debut, LocalDateTime fin, Long idExclu) {
+        CleCreneau borneBasse = new CleCreneau(debut.minus(dureeMax), Long.MIN_VALUE);
+        CleCreneau borneHaute = new CleCreneau(fin, Long.MAX_VALUE);
+        for (Map.Entry<CleCreneau, LocalDateTime> creneau : creneaux.subMap(borneBasse, true, borneHaute, true).entrySet()) {
+            if (!creneau.getValue().isBefore(debut) && !creneau.getKey().id().equals(idExclu)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Les créneaux commencés depuis plus de dureeMax sont forcément terminés
+    private void purgerTerminees(LocalDateTime maintenant) {
+        LocalDateTime limite = maintenant.minus(dureeMax);
+        Iterator<CleCreneau> iterateur = creneaux.keySet().iterator();
+        while (iterateur.hasNext()) {
+            CleCreneau cle = iterateur.next();
+            if (!cle.debut().isBefore(limite)) {
+                break;
+            }
+            iterateur.remove();
+            clesParId.remove(cle.id());
+        }
+    }
+
+    private record CleCreneau(LocalDateTime debut, Long id) implements Comparable<CleCreneau> {
+
+        @Override
+        public int compareTo(CleCreneau autre) {
+            int comparaison = debut.compareTo(autre.debut);
+            return comparaison != 0 ? comparaison : Long.compare(id, autre.id);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Index mémoire des réservations confirmées, par salle, trié sur dateDebut.
+// Mis à jour après commit, il répond aux vérifications de conflit sans aller en base.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationConflictIndex {
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<Long, PlanningSalle> plannings = new ConcurrentHashMap<>();
+
+    private volatile boolean pret = false;
+
+    // Chargement initial : seules les réservations non terminées peuvent encore entrer en conflit
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruire() {
+        List<EtatReservation> confirmees = reservationRepository.findEtatsConfirmesFinissantApres(LocalDateTime.now());
+        plannings.clear();
+        confirmees.forEach(this::ajouter);
+        pret = true;
+        log.info("Index des conflits construit : {} réservations confirmées sur {} salles",
+                confirmees.size(), plannings.size());
+    }
+
+    public boolean estPret() {
+        return pret;
+    }
+
+    // Même sémantique que findConflictingReservations : bornes incluses, réservations confirmées uniquement
+    public boolean aConflit(Long salleId, LocalDateTime dateDebut, LocalDateTime dateFin, Long idExclu) {
+        PlanningSalle planning = plannings.get(salleId);
+        return planning != null && planning.chevauche(dateDebut, dateFin, idExclu);
+    }
+
+    // Appliqué dans afterCommit, pas via @TransactionalEventListener (exécuté en afterCompletion) : tous les
+    // afterCommit passent avant les afterCompletion, donc l'index est à jour avant que SalleLockStripes
+    // ne libère la salle et le rédacteur suivant ne peut pas lire un index en retard
+    @EventListener
+    public void surReservationModifiee(ReservationModifieeEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appliquer(event);
+                }
+            });
+        } else {
+            appliquer(event);
+        }
+    }
+
+    private void appliquer(ReservationModifieeEvent event) {
+        if (event.avant() != null) {
+            retirer(event.avant());
+        }
+        if (event.apres() != null && event.apres().estConfirmee()) {
+            ajouter(event.apres());
+        }
+    }
+
+    private void ajouter(EtatReservation etat) {
+        plannings.computeIfAbsent(etat.salleId(), id -> new PlanningSalle())
+                .ajouter(etat.id(), etat.dateDebut(), etat.dateFin());
+    }
+
+    private void retirer(EtatReservation etat) {
+        PlanningSalle planning = plannings.get(etat.salleId());
+        if (planning != null) {
+            planning.retirer(etat.id());
+        }
+    }
+}
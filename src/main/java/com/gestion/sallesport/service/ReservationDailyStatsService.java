@@ -0,0 +1,173 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.entity.ReservationDailyStat;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationDailyStatRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Maintient la table reservation_daily_stats à partir des événements de ReservationService.
+// Les deltas d'une transaction sont cumulés puis appliqués juste avant son commit, dans la même
+// transaction : l'agrégat et les réservations sont validés ou annulés ensemble.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationDailyStatsService {
+
+    private final ReservationDailyStatRepository dailyStatRepository;
+    private final ReservationRepository reservationRepository;
+    private final SalleLockStripes salleLocks;
+    private final TransactionTemplate transactionTemplate;
+
+    // Écouteur synchrone : s'exécute dans la transaction qui publie l'événement
+    @EventListener
+    public void surReservationModifiee(ReservationModifieeEvent event) {
+        Map<CleJour, Delta> deltas = new HashMap<>();
+        accumuler(deltas, event.avant(), -1);
+        accumuler(deltas, event.apres(), 1);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionTemplate.executeWithoutResult(status -> appliquer(deltas));
+            return;
+        }
+        Map<CleJour, Delta> deltasTransaction = deltasDeLaTransaction();
+        deltas.forEach((cle, delta) -> deltasTransaction.merge(cle, delta, Delta::plus));
+    }
+
+    // Reconstruction complète à partir des réservations confirmées (tâche planifiée, hors des heures d'affluence).
+    // Toutes les bandes sont tenues jusqu'au commit : aucun incrément ne peut être appliqué entre la lecture
+    // des réservations et le remplacement de la table, ni être effacé par celui-ci.
+    @Scheduled(cron = "${reservation.stats.reconstruction-cron:0 30 3 * * *}")
+    public void reconstruire() {
+        int lignes = transactionTemplate.execute(status -> {
+            salleLocks.verrouillerToutesJusquaFinTransaction();
+            Map<CleJour, Delta> deltas = new HashMap<>();
+            List<EtatReservation> confirmees = reservationRepository.findEtatsConfirmes();
+            confirmees.forEach(etat -> accumuler(deltas, etat, 1));
+
+            dailyStatRepository.deleteAllInBatch();
+            dailyStatRepository.saveAll(deltas.entrySet().stream()
+                    .map(e -> e.getValue().versLigne(e.getKey()))
+                    .toList());
+            return deltas.size();
+        });
+        log.info("Agrégats journaliers reconstruits : {} lignes (salle, jour)", lignes);
+    }
+
+    // Au premier démarrage la table est vide : on la remplit une fois
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiser() {
+        if (dailyStatRepository.count() == 0) {
+            reconstruire();
+        }
+    }
+
+    private Map<CleJour, Delta> deltasDeLaTransaction() {
+        @SuppressWarnings("unchecked")
+        Map<CleJour, Delta> deltas = (Map<CleJour, Delta>) TransactionSynchronizationManager.getResource(this);
+        if (deltas != null) {
+            return deltas;
+        }
+        Map<CleJour, Delta> nouveaux = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, nouveaux);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                appliquer(nouveaux);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReservationDailyStatsService.this);
+            }
+        });
+        return nouveaux;
+    }
+
+    // Mise à jour incrémentale, insertion si la ligne (salle, jour) n'existe pas encore.
+    // Les bandes des salles concernées sont prises ici pour toutes les écritures, y compris celles qui ne les
+    // ont pas déjà (suppressions en cascade d'un client ou d'une salle) : deux premières réservations d'une
+    // salle le même jour ne peuvent pas insérer chacune leur ligne. Elles sont tenues jusqu'au commit.
+    private void appliquer(Map<CleJour, Delta> deltas) {
+        salleLocks.verrouillerJusquaFinTransaction(deltas.keySet().stream().map(CleJour::salleId).toArray(Long[]::new));
+        deltas.forEach((cle, delta) -> {
+            if (delta.estNul()) {
+                return;
+            }
+            int misesAJour = dailyStatRepository.incrementer(cle.salleId(), cle.jour(),
+                    delta.nombre, delta.minutes, delta.revenu);
+            if (misesAJour == 0) {
+                dailyStatRepository.save(delta.versLigne(cle));
+            }
+        });
+    }
+
+    // Contribution d'une réservation confirmée : nombre et revenu au jour de début, minutes réparties par jour
+    static void accumuler(Map<CleJour, Delta> deltas, EtatReservation etat, int signe) {
+        if (etat == null || !etat.estConfirmee() || !etat.dateFin().isAfter(etat.dateDebut())) {
+            return;
+        }
+        double prix = etat.prixTotal() != null ? etat.prixTotal() : 0.0;
+        deltas.computeIfAbsent(new CleJour(etat.salleId(), etat.dateDebut().toLocalDate()), cle -> new Delta())
+                .ajouter(signe, 0, signe * prix);
+
+        LocalDateTime curseur = etat.dateDebut();
+        while (curseur.isBefore(etat.dateFin())) {
+            LocalDate jour = curseur.toLocalDate();
+            LocalDateTime finSegment = jour.plusDays(1).atStartOfDay();
+            if (finSegment.isAfter(etat.dateFin())) {
+                finSegment = etat.dateFin();
+            }
+            long minutes = Duration.between(curseur, finSegment).toMinutes();
+            deltas.computeIfAbsent(new CleJour(etat.salleId(), jour), cle -> new Delta())
+                    .ajouter(0, signe * minutes, 0.0);
+            curseur = finSegment;
+        }
+    }
+
+    record CleJour(Long salleId, LocalDate jour) {
+    }
+
+    static final class Delta {
+        long nombre;
+        long minutes;
+        double revenu;
+
+        void ajouter(long nombre, long minutes, double revenu) {
+            this.nombre += nombre;
+            this.minutes += minutes;
+            this.revenu += revenu;
+        }
+
+        Delta plus(Delta autre) {
+            ajouter(autre.nombre, autre.minutes, autre.revenu);
+            return this;
+        }
+
+        boolean estNul() {
+            return nombre == 0 && minutes == 0 && revenu == 0.0;
+        }
+
+        ReservationDailyStat versLigne(CleJour cle) {
+            return new ReservationDailyStat(null, cle.salleId(), cle.jour(), nombre, minutes, revenu);
+        }
+    }
+}
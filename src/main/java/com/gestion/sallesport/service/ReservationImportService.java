@@ -0,0 +1,248 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.LigneImportReservation;
+import com.gestion.sallesport.dto.ResultatImport;
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Import en masse : chaque lot est validé en une passe (une requête de conflits pour toutes ses salles)
+// puis inséré par batch JDBC. Une ligne invalide est signalée sans interrompre l'import.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationImportService {
+
+    private static final String SEPARATEUR_CSV = ";";
+
+    private final ReservationRepository reservationRepository;
+    private final ClientRepository clientRepository;
+    private final SalleRepository salleRepository;
+    private final SalleLockStripes salleLocks;
+    private final SerieReservationService serieService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${reservation.import.taille-lot:500}")
+    private int tailleLot = 500;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int tailleBatchJdbc = 50;
+
+    private record LigneNumerotee(int numero, LigneImportReservation ligne) {
+    }
+
+    public ResultatImport importer(List<LigneImportReservation> lignes) {
+        ResultatImport resultat = new ResultatImport();
+        List<LigneNumerotee> lot = new ArrayList<>(tailleLot);
+        int numero = 0;
+        for (LigneImportReservation ligne : lignes) {
+            resultat.ligneLue();
+            ajouterAuLot(lot, new LigneNumerotee(++numero, ligne), resultat);
+        }
+        traiterLot(lot, resultat);
+        return resultat;
+    }
+
+    // Lecture en flux : la mémoire reste bornée par la taille d'un lot
+    public ResultatImport importerCsv(Reader source) throws IOException {
+        ResultatImport resultat = new ResultatImport();
+        List<LigneNumerotee> lot = new ArrayList<>(tailleLot);
+        BufferedReader reader = new BufferedReader(source);
+
+        String texte;
+        int numero = 0;
+        while ((texte = reader.readLine()) != null) {
+            numero++;
+            if (texte.isBlank() || (numero == 1 && texte.startsWith("clientId"))) {
+                continue;
+            }
+            resultat.ligneLue();
+            try {
+                ajouterAuLot(lot, new LigneNumerotee(numero, lireLigneCsv(texte)), resultat);
+            } catch (RuntimeException e) {
+                resultat.erreur(numero, "Ligne invalide : " + e.getMessage());
+            }
+        }
+        traiterLot(lot, resultat);
+        return resultat;
+    }
+
+    private void ajouterAuLot(List<LigneNumerotee> lot, LigneNumerotee ligne, ResultatImport resultat) {
+        lot.add(ligne);
+        if (lot.size() >= tailleLot) {
+            traiterLot(lot, resultat);
+        }
+    }
+
+    // Un lot = une transaction ; si elle échoue, seules les lignes de ce lot sont rejetées
+    private void traiterLot(List<LigneNumerotee> lot, ResultatImport resultat) {
+        if (lot.isEmpty()) {
+            return;
+        }
+        List<ResultatImport.ErreurLigne> erreurs = new ArrayList<>();
+        try {
+            Integer importees = transactionTemplate.execute(status -> importerLot(lot, erreurs));
+            resultat.lignesImportees(importees != null ? importees : 0);
+            erreurs.forEach(erreur -> resultat.erreur(erreur.ligne(), erreur.message()));
+        } catch (RuntimeException e) {
+            log.warn("Lot d'import rejeté (lignes {} à {})", lot.get(0).numero(), lot.get(lot.size() - 1).numero(), e);
+            Set<Integer> dejaEnErreur = erreurs.stream().map(ResultatImport.ErreurLigne::ligne).collect(Collectors.toSet());
+            erreurs.forEach(erreur -> resultat.erreur(erreur.ligne(), erreur.message()));
+            lot.stream()
+                    .filter(ligne -> !dejaEnErreur.contains(ligne.numero()))
+                    .forEach(ligne -> resultat.erreur(ligne.numero(), "Lot rejeté : " + e.getMessage()));
+        }
+        lot.clear();
+    }
+
+    private int importerLot(List<LigneNumerotee> lot, List<ResultatImport.ErreurLigne> erreurs) {
+        Set<Long> clientIds = lot.stream().map(l -> l.ligne().clientId()).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> salleIds = lot.stream().map(l -> l.ligne().salleId()).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Client> clients = clientRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+        Map<Long, Salle> salles = salleRepository.findAllById(salleIds).stream()
+                .collect(Collectors.toMap(Salle::getId, Function.identity()));
+
+        List<LigneNumerotee> valides = new ArrayList<>();
+        for (LigneNumerotee ligne : lot) {
+            String erreur = valider(ligne.ligne(), clients, salles);
+            if (erreur != null) {
+                erreurs.add(new ResultatImport.ErreurLigne(ligne.numero(), erreur));
+            } else {
+                valides.add(ligne);
+            }
+        }
+        if (valides.isEmpty()) {
+            return 0;
+        }
+
+        salleLocks.verrouillerJusquaFinTransaction(salles.keySet().toArray(Long[]::new));
+        Map<Long, PlanningSalle> plannings = chargerPlannings(valides);
+
+        List<EtatReservation> creees = new ArrayList<>(valides.size());
+        for (LigneNumerotee numerotee : valides) {
+            LigneImportReservation ligne = numerotee.ligne();
+            PlanningSalle planning = plannings.computeIfAbsent(ligne.salleId(), id -> new PlanningSalle());
+            if (planning.chevauche(ligne.dateDebut(), ligne.dateFin(), null)
+                    || serieService.aConflit(ligne.salleId(), ligne.dateDebut(), ligne.dateFin())) {
+                erreurs.add(new ResultatImport.ErreurLigne(numerotee.numero(), ReservationService.MESSAGE_CONFLIT));
+                continue;
+            }
+
+            Reservation reservation = new Reservation();
+            reservation.setClient(clients.get(ligne.clientId()));
+            reservation.setSalle(salles.get(ligne.salleId()));
+            reservation.setDateDebut(ligne.dateDebut());
+            reservation.setDateFin(ligne.dateFin());
+            reservation.setRemarques(ligne.remarques());
+            if (ligne.statut() != null) {
+                reservation.setStatut(ligne.statut());
+            }
+            reservation.calculerPrixTotal();
+            entityManager.persist(reservation);
+
+            // Les lignes confirmées du lot bloquent les suivantes
+            if (reservation.getStatut() == Reservation.StatutReservation.CONFIRMEE) {
+                planning.ajouter(reservation.getId(), reservation.getDateDebut(), reservation.getDateFin());
+            }
+            creees.add(EtatReservation.of(reservation));
+
+            if (creees.size() % tailleBatchJdbc == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        creees.forEach(etat -> eventPublisher.publishEvent(ReservationModifieeEvent.creation(etat)));
+        return creees.size();
+    }
+
+    // Une seule requête pour les réservations confirmées de toutes les salles du lot
+    private Map<Long, PlanningSalle> chargerPlannings(List<LigneNumerotee> valides) {
+        Set<Long> salleIds = new HashSet<>();
+        LocalDateTime debut = valides.stream().map(l -> l.ligne().dateDebut()).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime fin = valides.stream().map(l -> l.ligne().dateFin()).max(Comparator.naturalOrder()).orElseThrow();
+        valides.forEach(l -> salleIds.add(l.ligne().salleId()));
+
+        Map<Long, PlanningSalle> plannings = new HashMap<>();
+        for (EtatReservation etat : reservationRepository.findEtatsConfirmesPourSalles(salleIds, debut, fin)) {
+            plannings.computeIfAbsent(etat.salleId(), id -> new PlanningSalle())
+                    .ajouter(etat.id(), etat.dateDebut(), etat.dateFin());
+        }
+        return plannings;
+    }
+
+    private String valider(LigneImportReservation ligne, Map<Long, Client> clients, Map<Long, Salle> salles) {
+        if (ligne.clientId() == null || !clients.containsKey(ligne.clientId())) {
+            return "Client non trouvé avec l'id : " + ligne.clientId();
+        }
+        if (ligne.salleId() == null || !salles.containsKey(ligne.salleId())) {
+            return "Salle non trouvée avec l'id : " + ligne.salleId();
+        }
+        if (ligne.dateDebut() == null || ligne.dateFin() == null) {
+            return "Les dates de début et de fin sont obligatoires";
+        }
+        if (ligne.dateDebut().isAfter(ligne.dateFin())) {
+            return "La date de début doit être avant la date de fin";
+        }
+        if (ligne.dateDebut().isBefore(LocalDateTime.now())) {
+            return "La réservation ne peut pas être dans le passé";
+        }
+        return null;
+    }
+
+    // clientId;salleId;dateDebut;dateFin[;statut[;remarques]] avec des dates ISO-8601
+    private LigneImportReservation lireLigneCsv(String texte) {
+        String[] champs = texte.split(SEPARATEUR_CSV, 6);
+        if (champs.length < 4) {
+            throw new IllegalArgumentException("4 champs attendus au minimum, " + champs.length + " trouvés");
+        }
+        Reservation.StatutReservation statut = champs.length > 4 && !champs[4].isBlank()
+                ? Reservation.StatutReservation.valueOf(champs[4].trim())
+                : null;
+        String remarques = champs.length > 5 && !champs[5].isBlank() ? champs[5].trim() : null;
+
+        return new LigneImportReservation(
+                Long.valueOf(champs[0].trim()),
+                Long.valueOf(champs[1].trim()),
+                LocalDateTime.parse(champs[2].trim()),
+                LocalDateTime.parse(champs[3].trim()),
+                statut,
+                remarques
+        );
+    }
+}
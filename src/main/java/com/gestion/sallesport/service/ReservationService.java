@@ -1,57 +1,107 @@
 package com.gestion.sallesport.service;
 
+import com.gestion.sallesport.config.MetricsConfig;
+import com.gestion.sallesport.dto.CurseurPage;
+import com.gestion.sallesport.dto.FiltreReservation;
+import com.gestion.sallesport.dto.PageCurseur;
+import com.gestion.sallesport.dto.ReservationRow;
+import com.gestion.sallesport.dto.ReservationStatistics;
 import com.gestion.sallesport.entity.Reservation;
 import com.gestion.sallesport.entity.Client;
 import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
 import com.gestion.sallesport.repository.ReservationRepository;
 import com.gestion.sallesport.repository.ClientRepository;
 import com.gestion.sallesport.repository.SalleRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.TIMER_SERVICES)
 @Transactional
 public class ReservationService {
 
     private final ReservationRepository reservationRepository;
     private final ClientRepository clientRepository;
     private final SalleRepository salleRepository;
+    private final ReservationConflictIndex conflictIndex;
+    private final SalleLockStripes salleLocks;
+    private final SerieReservationService serieService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    // Garde-fou : confirmer en base (requête d'existence) quand l'index ne voit pas de conflit
+    @Value("${reservation.conflits.verification-base:true}")
+    private boolean verificationBase = true;
+
+    // "application" : conflits vérifiés par le service ; "contrainte" : contrainte d'exclusion PostgreSQL
+    @Value("${reservation.conflits.mode:application}")
+    private String modeConflits = "application";
+
+    private static final String SQLSTATE_EXCLUSION_VIOLATION = "23P01";
+
+    public static final int TAILLE_PAGE_MAX = 200;
+
+    // Message de refus pour chevauchement, partagé par l'import et les séries
+    public static final String MESSAGE_CONFLIT = "La salle est déjà réservée pour cette période";
 
     // Récupérer toutes les réservations
     public List<Reservation> getAllReservations() {
         return reservationRepository.findAll();
     }
 
-    // Récupérer une réservation par ID
+    // Page de réservations (plus récentes d'abord) à partir d'un jeton de page
+    public PageCurseur<ReservationRow> getReservationsPage(FiltreReservation filtre, String jetonPage, int taille) {
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+        List<ReservationRow> lignes = reservationRepository.findPageApres(filtre, CurseurPage.decoder(jetonPage), tailleBornee + 1);
+
+        if (lignes.size() <= tailleBornee) {
+            return new PageCurseur<>(lignes, null);
+        }
+        List<ReservationRow> contenu = lignes.subList(0, tailleBornee);
+        ReservationRow derniere = contenu.get(tailleBornee - 1);
+        return new PageCurseur<>(contenu, new CurseurPage(derniere.getDateDebut(), derniere.getId()).encoder());
+    }
+
+    // Statistiques par statut en une requête agrégée ; les filtres, debut et fin sont optionnels
+    public ReservationStatistics getStatistiques(FiltreReservation filtre, LocalDateTime debut, LocalDateTime fin) {
+        return ReservationStatistics.of(reservationRepository.aggregateByStatut(filtre, debut, fin));
+    }
+
+    // Récupérer une réservation par ID, avec son client et sa salle (vue détail et formulaire)
     public Optional<Reservation> getReservationById(Long id) {
-        return reservationRepository.findById(id);
+        return reservationRepository.findDetailById(id);
     }
 
     // Créer une réservation
     public Reservation createReservation(Reservation reservation) {
         validateReservation(reservation);
+        verrouillerSalles(reservation.getSalle().getId());
 
         // Vérifier les conflits
-        List<Reservation> conflicts = reservationRepository.findConflictingReservations(
-                reservation.getSalle().getId(),
-                reservation.getDateDebut(),
-                reservation.getDateFin()
-        );
-
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("La salle est déjà réservée pour cette période");
-        }
+        verifierConflits(reservation.getSalle().getId(), reservation.getDateDebut(), reservation.getDateFin(), null);
 
         // Calculer le prix total avant sauvegarde
         reservation.calculerPrixTotal();
 
-        return reservationRepository.save(reservation);
+        Reservation saved = enregistrer(reservation);
+        eventPublisher.publishEvent(ReservationModifieeEvent.creation(EtatReservation.of(saved)));
+        return saved;
     }
 
     // Mettre à jour une réservation
@@ -60,19 +110,13 @@ public class ReservationService {
                 .orElseThrow(() -> new RuntimeException("Réservation non trouvée avec l'id : " + id));
 
         validateReservation(reservationDetails);
+        verrouillerSalles(reservation.getSalle().getId(), reservationDetails.getSalle().getId());
 
         // Vérifier les conflits en excluant la réservation actuelle
-        List<Reservation> conflicts = reservationRepository.findConflictingReservations(
-                reservationDetails.getSalle().getId(),
-                reservationDetails.getDateDebut(),
-                reservationDetails.getDateFin()
-        );
-        conflicts.removeIf(r -> r.getId().equals(id));
-
-        if (!conflicts.isEmpty()) {
-            throw new RuntimeException("La salle est déjà réservée pour cette période");
-        }
+        verifierConflits(reservationDetails.getSalle().getId(), reservationDetails.getDateDebut(),
+                reservationDetails.getDateFin(), id);
 
+        EtatReservation avant = EtatReservation.of(reservation);
         reservation.setClient(reservationDetails.getClient());
         reservation.setSalle(reservationDetails.getSalle());
         reservation.setDateDebut(reservationDetails.getDateDebut());
@@ -81,30 +125,39 @@ public class ReservationService {
         reservation.setRemarques(reservationDetails.getRemarques());
         reservation.calculerPrixTotal();
 
-        return reservationRepository.save(reservation);
+        Reservation saved = enregistrer(reservation);
+        eventPublisher.publishEvent(new ReservationModifieeEvent(avant, EtatReservation.of(saved)));
+        return saved;
     }
 
     // Supprimer une réservation
     public void deleteReservation(Long id) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Réservation non trouvée avec l'id : " + id));
+        EtatReservation avant = EtatReservation.of(reservation);
         reservationRepository.delete(reservation);
+        eventPublisher.publishEvent(ReservationModifieeEvent.suppression(avant));
     }
 
     // Confirmer une réservation
     public Reservation confirmerReservation(Long id) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Réservation non trouvée avec l'id : " + id));
-        reservation.setStatut(Reservation.StatutReservation.CONFIRMEE);
-        return reservationRepository.save(reservation);
+        verrouillerSalles(reservation.getSalle().getId());
+
+        // Une confirmation ne doit pas créer de double réservation
+        if (reservation.getStatut() != Reservation.StatutReservation.CONFIRMEE) {
+            verifierConflits(reservation.getSalle().getId(), reservation.getDateDebut(), reservation.getDateFin(), id);
+        }
+        return changerStatut(reservation, Reservation.StatutReservation.CONFIRMEE);
     }
 
     // Annuler une réservation
     public Reservation annulerReservation(Long id) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Réservation non trouvée avec l'id : " + id));
-        reservation.setStatut(Reservation.StatutReservation.ANNULEE);
-        return reservationRepository.save(reservation);
+        verrouillerSalles(reservation.getSalle().getId());
+        return changerStatut(reservation, Reservation.StatutReservation.ANNULEE);
     }
 
     // Récupérer les réservations d’un client
@@ -122,9 +175,82 @@ public class ReservationService {
         return reservationRepository.findByStatut(statut);
     }
 
-    // Récupérer les réservations entre deux dates
+    // Récupérer les réservations entre deux dates, occurrences des séries récurrentes comprises
     public List<Reservation> getReservationsBetween(LocalDateTime debut, LocalDateTime fin) {
-        return reservationRepository.findReservationsBetween(debut, fin);
+        List<Reservation> reservations = new ArrayList<>(reservationRepository.findReservationsBetween(debut, fin));
+        reservations.addAll(serieService.getOccurrencesBetween(debut, fin));
+        return reservations;
+    }
+
+    private Reservation changerStatut(Reservation reservation, Reservation.StatutReservation statut) {
+        EtatReservation avant = EtatReservation.of(reservation);
+        reservation.setStatut(statut);
+        Reservation saved = enregistrer(reservation);
+        eventPublisher.publishEvent(new ReservationModifieeEvent(avant, EtatReservation.of(saved)));
+        return saved;
+    }
+
+    // L'index mémoire répond en O(log n) ; la requête d'existence en base reste le garde-fou final,
+    // sauf en mode contrainte où c'est l'insertion elle-même qui tranche
+    private void verifierConflits(Long salleId, LocalDateTime dateDebut, LocalDateTime dateFin, Long idExclu) {
+        String detectePar = null;
+        if (serieService.aConflit(salleId, dateDebut, dateFin)) {
+            detectePar = "serie";
+        } else if (conflictIndex.estPret()) {
+            if (conflictIndex.aConflit(salleId, dateDebut, dateFin, idExclu)) {
+                detectePar = "index";
+            } else if (verificationBase && !modeContrainte()
+                    && reservationRepository.existsConflictingReservation(salleId, dateDebut, dateFin, idExclu)) {
+                detectePar = "base";
+            }
+        } else if (!modeContrainte()
+                && reservationRepository.existsConflictingReservation(salleId, dateDebut, dateFin, idExclu)) {
+            detectePar = "base";
+        }
+
+        if (detectePar != null) {
+            compterConflit(detectePar);
+            throw new RuntimeException(MESSAGE_CONFLIT);
+        }
+    }
+
+    // Compteur des réservations refusées pour conflit, par mécanisme de détection
+    // ("base" hors démarrage signale un index mémoire désynchronisé)
+    private void compterConflit(String detectePar) {
+        meterRegistry.counter(MetricsConfig.COMPTEUR_CONFLITS, "detection", detectePar).increment();
+    }
+
+    // Sérialise les écritures d'une même salle jusqu'au commit, dans tous les modes : la contrainte d'exclusion
+    // ne couvre que les lignes de reservations, pas les occurrences des séries (vérifiées par serieService.aConflit,
+    // sous les mêmes verrous que la création d'une série)
+    private void verrouillerSalles(Long... salleIds) {
+        salleLocks.verrouillerJusquaFinTransaction(salleIds);
+    }
+
+    // En mode contrainte, le flush immédiat fait remonter la violation ici plutôt qu'au commit
+    private Reservation enregistrer(Reservation reservation) {
+        if (!modeContrainte()) {
+            return reservationRepository.save(reservation);
+        }
+        try {
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            if (violeContrainteExclusion(e)) {
+                compterConflit("contrainte");
+                throw new RuntimeException(MESSAGE_CONFLIT, e);
+            }
+            throw e;
+        }
+    }
+
+    private boolean modeContrainte() {
+        return "contrainte".equalsIgnoreCase(modeConflits);
+    }
+
+    private static boolean violeContrainteExclusion(DataIntegrityViolationException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause instanceof SQLException sqlException
+                && SQLSTATE_EXCLUSION_VIOLATION.equals(sqlException.getSQLState());
     }
 
     // Validation simple des dates
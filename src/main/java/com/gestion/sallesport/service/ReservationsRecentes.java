@@ -0,0 +1,95 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.OrdreRecence;
+import com.gestion.sallesport.dto.ReservationRow;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Dernières réservations créées : tampon circulaire borné des identifiants, alimenté après commit
+// par les créations (ReservationService, import). Le widget relit les N lignes par clé primaire,
+// ce qui donne aussi leur statut à jour. Les autres demandes passent par ORDER BY ... LIMIT indexé.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationsRecentes {
+
+    private final ReservationRepository reservationRepository;
+
+    @Value("${reservation.recentes.capacite:50}")
+    private int capacite = 50;
+
+    // Plus récente en tête
+    private final Deque<Long> derniersIds = new ArrayDeque<>();
+
+    private volatile boolean pret = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiser() {
+        List<ReservationRow> lignes = reservationRepository.findRecentes(OrdreRecence.CREATION, capacite);
+        synchronized (derniersIds) {
+            derniersIds.clear();
+            lignes.forEach(ligne -> derniersIds.addLast(ligne.getId()));
+        }
+        pret = true;
+        log.info("Tampon des réservations récentes initialisé : {} réservations", lignes.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void surReservationModifiee(ReservationModifieeEvent event) {
+        synchronized (derniersIds) {
+            if (event.avant() == null && event.apres() != null) {
+                derniersIds.addFirst(event.apres().id());
+                if (derniersIds.size() > capacite) {
+                    derniersIds.removeLast();
+                }
+            } else if (event.apres() == null && event.avant() != null) {
+                derniersIds.remove(event.avant().id());
+            }
+        }
+    }
+
+    public List<ReservationRow> dernieres(OrdreRecence ordre, int taille) {
+        int tailleBornee = Math.max(1, Math.min(taille, ReservationService.TAILLE_PAGE_MAX));
+        List<Long> ids = ordre == OrdreRecence.CREATION && pret ? premiersIds(tailleBornee) : List.of();
+        // Tampon insuffisant (démarrage, suppressions, taille > capacité) : requête indexée
+        if (ids.size() < tailleBornee) {
+            return reservationRepository.findRecentes(ordre, tailleBornee);
+        }
+
+        Map<Long, ReservationRow> lignes = reservationRepository.findRowsByIds(ids).stream()
+                .collect(Collectors.toMap(ReservationRow::getId, Function.identity()));
+        return ids.stream()
+                .map(lignes::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Long> premiersIds(int taille) {
+        synchronized (derniersIds) {
+            List<Long> ids = new ArrayList<>(taille);
+            for (Long id : derniersIds) {
+                if (ids.size() == taille) {
+                    break;
+                }
+                ids.add(id);
+            }
+            return ids;
+        }
+    }
+}
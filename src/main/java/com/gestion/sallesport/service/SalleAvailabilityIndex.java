@@ -0,0 +1,205 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Occupation des salles au quart d'heure : un bitmap de 96 créneaux (2 long) par salle et par jour.
+// Une réservation occupe tous les créneaux qu'elle touche, bornes incluses. Le bitmap n'est qu'un
+// pré-filtre : un créneau commun est confirmé sur les horaires exacts des réservations qui le touchent,
+// avec la sémantique de findSallesDisponibles (une réservation finissant à 12h laisse 12h05 libre).
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalleAvailabilityIndex {
+
+    static final int MINUTES_PAR_CRENEAU = 15;
+    static final int CRENEAUX_PAR_JOUR = 24 * 60 / MINUTES_PAR_CRENEAU;
+    private static final int MOTS_PAR_JOUR = (CRENEAUX_PAR_JOUR + 63) / 64;
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<Long, DisponibiliteSalle> salles = new ConcurrentHashMap<>();
+
+    private volatile boolean pret = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruire() {
+        List<EtatReservation> confirmees = reservationRepository.findEtatsConfirmesFinissantApres(LocalDateTime.now());
+        salles.clear();
+        confirmees.forEach(this::ajouter);
+        pret = true;
+        log.info("Index de disponibilité construit : {} réservations confirmées sur {} salles",
+                confirmees.size(), salles.size());
+    }
+
+    public boolean estPret() {
+        return pret;
+    }
+
+    public boolean estLibre(Long salleId, LocalDateTime dateDebut, LocalDateTime dateFin) {
+        DisponibiliteSalle disponibilite = salles.get(salleId);
+        return disponibilite == null || disponibilite.estLibre(dateDebut, dateFin);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void surReservationModifiee(ReservationModifieeEvent event) {
+        if (event.avant() != null) {
+            DisponibiliteSalle disponibilite = salles.get(event.avant().salleId());
+            if (disponibilite != null) {
+                disponibilite.retirer(event.avant().id());
+            }
+        }
+        if (event.apres() != null && event.apres().estConfirmee()) {
+            ajouter(event.apres());
+        }
+    }
+
+    private void ajouter(EtatReservation etat) {
+        salles.computeIfAbsent(etat.salleId(), id -> new DisponibiliteSalle()).ajouter(etat);
+    }
+
+    static int creneau(LocalDateTime instant) {
+        return (instant.getHour() * 60 + instant.getMinute()) / MINUTES_PAR_CRENEAU;
+    }
+
+    // Masque des créneaux [premier, dernier] d'une journée
+    static long[] masque(int premier, int dernier) {
+        long[] masque = new long[MOTS_PAR_JOUR];
+        for (int mot = 0; mot < MOTS_PAR_JOUR; mot++) {
+            int bas = Math.max(premier, mot * 64);
+            int haut = Math.min(dernier, mot * 64 + 63);
+            if (bas <= haut) {
+                int largeur = haut - bas + 1;
+                long bits = largeur == 64 ? -1L : (1L << largeur) - 1;
+                masque[mot] = bits << (bas - mot * 64);
+            }
+        }
+        return masque;
+    }
+
+    private static boolean intersecte(long[] a, long[] b) {
+        for (int mot = 0; mot < MOTS_PAR_JOUR; mot++) {
+            if ((a[mot] & b[mot]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int premierCreneau(LocalDate jour, LocalDateTime debut) {
+        return debut.toLocalDate().isBefore(jour) ? 0 : creneau(debut);
+    }
+
+    private static int dernierCreneau(LocalDate jour, LocalDateTime fin) {
+        return fin.toLocalDate().isAfter(jour) ? CRENEAUX_PAR_JOUR - 1 : creneau(fin);
+    }
+
+    private static final class PlanningJour {
+
+        private final Map<Long, long[]> masquesParReservation = new HashMap<>();
+        private final long[] occupation = new long[MOTS_PAR_JOUR];
+
+        // Recalcul depuis les masques pour qu'un retrait ne libère pas un créneau encore occupé
+        void recalculer() {
+            Arrays.fill(occupation, 0L);
+            for (long[] masque : masquesParReservation.values()) {
+                for (int mot = 0; mot < MOTS_PAR_JOUR; mot++) {
+                    occupation[mot] |= masque[mot];
+                }
+            }
+        }
+
+        boolean croise(long[] masque) {
+            return intersecte(occupation, masque);
+        }
+
+        // Vérification exacte, limitée aux réservations dont les créneaux croisent ceux demandés
+        boolean chevauche(long[] masque, Map<Long, EtatReservation> reservations, LocalDateTime debut, LocalDateTime fin) {
+            for (Map.Entry<Long, long[]> entree : masquesParReservation.entrySet()) {
+                if (intersecte(entree.getValue(), masque)) {
+                    EtatReservation etat = reservations.get(entree.getKey());
+                    if (etat == null || (!etat.dateDebut().isAfter(fin) && !etat.dateFin().isBefore(debut))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class DisponibiliteSalle {
+
+        private final TreeMap<LocalDate, PlanningJour> jours = new TreeMap<>();
+        private final Map<Long, EtatReservation> reservations = new HashMap<>();
+        private LocalDate dernierePurge = LocalDate.MIN;
+
+        synchronized void ajouter(EtatReservation etat) {
+            retirer(etat.id());
+            reservations.put(etat.id(), etat);
+            for (LocalDate jour = etat.dateDebut().toLocalDate(); !jour.isAfter(etat.dateFin().toLocalDate()); jour = jour.plusDays(1)) {
+                PlanningJour planning = jours.computeIfAbsent(jour, j -> new PlanningJour());
+                planning.masquesParReservation.put(etat.id(),
+                        masque(premierCreneau(jour, etat.dateDebut()), dernierCreneau(jour, etat.dateFin())));
+                planning.recalculer();
+            }
+            purger(LocalDate.now());
+        }
+
+        synchronized void retirer(Long id) {
+            EtatReservation etat = reservations.remove(id);
+            if (etat == null) {
+                return;
+            }
+            for (LocalDate jour = etat.dateDebut().toLocalDate(); !jour.isAfter(etat.dateFin().toLocalDate()); jour = jour.plusDays(1)) {
+                PlanningJour planning = jours.get(jour);
+                if (planning != null && planning.masquesParReservation.remove(id) != null) {
+                    if (planning.masquesParReservation.isEmpty()) {
+                        jours.remove(jour);
+                    } else {
+                        planning.recalculer();
+                    }
+                }
+            }
+        }
+
+        synchronized boolean estLibre(LocalDateTime debut, LocalDateTime fin) {
+            for (LocalDate jour = debut.toLocalDate(); !jour.isAfter(fin.toLocalDate()); jour = jour.plusDays(1)) {
+                PlanningJour planning = jours.get(jour);
+                if (planning == null) {
+                    continue;
+                }
+                long[] masque = masque(premierCreneau(jour, debut), dernierCreneau(jour, fin));
+                if (planning.croise(masque) && planning.chevauche(masque, reservations, debut, fin)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Une fois par jour, oublier les journées écoulées
+        private void purger(LocalDate aujourdhui) {
+            if (!dernierePurge.isBefore(aujourdhui)) {
+                return;
+            }
+            jours.headMap(aujourdhui).clear();
+            reservations.values().removeIf(etat -> etat.dateFin().toLocalDate().isBefore(aujourdhui));
+            dernierePurge = aujourdhui;
+        }
+    }
+}
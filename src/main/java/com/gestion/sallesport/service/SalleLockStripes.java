@@ -0,0 +1,83 @@
+package com.gestion.sallesport.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Verrous répartis par salle : deux salles de bandes différentes ne se bloquent jamais.
+// Un verrou est conservé jusqu'à la fin de la transaction pour couvrir la vérification ET le commit.
+@Component
+public class SalleLockStripes {
+
+    private final ReentrantLock[] verrous;
+
+    public SalleLockStripes(@Value("${reservation.verrous.bandes:64}") int nombreBandes) {
+        if (nombreBandes < 1) {
+            throw new IllegalArgumentException("Le nombre de bandes de verrous doit être positif : " + nombreBandes);
+        }
+        this.verrous = new ReentrantLock[nombreBandes];
+        for (int i = 0; i < nombreBandes; i++) {
+            verrous[i] = new ReentrantLock();
+        }
+    }
+
+    // Les bandes sont prises dans l'ordre croissant pour éviter tout interblocage entre plusieurs salles
+    public void verrouillerJusquaFinTransaction(Long... salleIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Le verrouillage des salles exige une transaction active");
+        }
+
+        int[] bandes = Arrays.stream(salleIds)
+                .filter(Objects::nonNull)
+                .mapToInt(this::bande)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        List<ReentrantLock> acquis = new ArrayList<>(bandes.length);
+        for (int bande : bandes) {
+            verrous[bande].lock();
+            acquis.add(verrous[bande]);
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquis.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    // Toutes les bandes (reconstruction complète des agrégats) : aucune écriture de salle ne peut s'intercaler
+    public void verrouillerToutesJusquaFinTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Le verrouillage des salles exige une transaction active");
+        }
+        List<ReentrantLock> acquis = new ArrayList<>(verrous.length);
+        for (ReentrantLock verrou : verrous) {
+            verrou.lock();
+            acquis.add(verrou);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquis.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    public int nombreBandes() {
+        return verrous.length;
+    }
+
+    private int bande(Long salleId) {
+        return Math.floorMod(Long.hashCode(salleId), verrous.length);
+    }
+}
@@ -0,0 +1,84 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.StatistiquesSalle;
+import com.gestion.sallesport.dto.TauxOccupation;
+import com.gestion.sallesport.repository.ReservationDailyStatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Taux d'occupation = minutes réservées (confirmées) ÷ minutes d'ouverture sur une fenêtre glissante.
+// Les minutes réservées viennent des agrégats journaliers : une seule requête GROUP BY pour toutes les salles.
+@Service
+@RequiredArgsConstructor
+public class SalleOccupationService {
+
+    private final ReservationDailyStatRepository dailyStatRepository;
+
+    // Horaires d'ouverture quotidiens, au format HH:mm
+    @Value("${salle.horaires.ouverture:06:00}")
+    private String ouverture = "06:00";
+
+    @Value("${salle.horaires.fermeture:22:00}")
+    private String fermeture = "22:00";
+
+    // Fenêtre [aujourd'hui - joursAvant, aujourd'hui + joursApres[
+    @Value("${salle.occupation.jours-avant:30}")
+    private int joursAvant = 30;
+
+    @Value("${salle.occupation.jours-apres:0}")
+    private int joursApres = 0;
+
+    // Taux de toutes les salles ayant au moins une réservation confirmée sur la fenêtre (les autres sont à 0)
+    public Map<Long, TauxOccupation> tauxParSalle() {
+        LocalDate debut = debutFenetre();
+        LocalDate fin = finFenetre();
+        long minutesOuvertes = minutesOuvertes(debut, fin);
+        return dailyStatRepository.sumParSalle(debut, fin).stream()
+                .map(stats -> taux(stats.salleId(), valeur(stats), minutesOuvertes))
+                .collect(Collectors.toMap(TauxOccupation::salleId, Function.identity()));
+    }
+
+    public TauxOccupation tauxSalle(Long salleId) {
+        LocalDate debut = debutFenetre();
+        LocalDate fin = finFenetre();
+        return taux(salleId, dailyStatRepository.sumMinutesReservees(salleId, debut, fin), minutesOuvertes(debut, fin));
+    }
+
+    public double tauxOuZero(Map<Long, TauxOccupation> taux, Long salleId) {
+        TauxOccupation occupation = taux.get(salleId);
+        return occupation != null ? occupation.taux() : 0.0;
+    }
+
+    private LocalDate debutFenetre() {
+        return LocalDate.now().minusDays(joursAvant);
+    }
+
+    private LocalDate finFenetre() {
+        return LocalDate.now().plusDays(joursApres + 1L);
+    }
+
+    private long minutesOuvertes(LocalDate debut, LocalDate fin) {
+        long minutesParJour = Duration.between(LocalTime.parse(ouverture), LocalTime.parse(fermeture)).toMinutes();
+        return Math.max(0, minutesParJour) * (fin.toEpochDay() - debut.toEpochDay());
+    }
+
+    private static long valeur(StatistiquesSalle stats) {
+        return stats.minutesReservees() != null ? stats.minutesReservees() : 0L;
+    }
+
+    // Arrondi au dixième, plafonné à 100 % (une réservation peut déborder des horaires d'ouverture)
+    private static TauxOccupation taux(Long salleId, long minutesReservees, long minutesOuvertes) {
+        double taux = minutesOuvertes > 0
+                ? Math.min(100.0, Math.round(minutesReservees * 1000.0 / minutesOuvertes) / 10.0)
+                : 0.0;
+        return new TauxOccupation(salleId, minutesReservees, minutesOuvertes, taux);
+    }
+}
@@ -1,39 +1,79 @@
 package com.gestion.sallesport.service;
 
-import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.config.CacheConfig;
+import com.gestion.sallesport.config.MetricsConfig;
+import com.gestion.sallesport.dto.FicheSalle;
+import com.gestion.sallesport.dto.StatistiquesSalle;
+import com.gestion.sallesport.dto.TauxOccupation;
 import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationDailyStatRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
 import com.gestion.sallesport.repository.SalleRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.TIMER_SERVICES)
 @Transactional
 public class SalleService {
 
     private final SalleRepository salleRepository;
-
+    private final CatalogueSalles catalogue;
+    private final SalleAvailabilityIndex availabilityIndex;
+    private final SerieReservationService serieService;
+    private final ReservationDailyStatRepository dailyStatRepository;
+    private final SalleOccupationService occupationService;
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Les méthodes qui renvoient des Salle lisent les entités en base ; les vues passent par les
+    // méthodes getFiches*, servies par le cache du catalogue (CatalogueSalles).
+
+    // Taux d'occupation de toutes les salles en une requête agrégée, sans charger leurs réservations
     public List<Salle> getAllSalles() {
+        Map<Long, TauxOccupation> taux = occupationService.tauxParSalle();
         List<Salle> salles = salleRepository.findAll();
-        salles.forEach(this::calculerTauxOccupation); // Remplir occupancyRate
+        salles.forEach(salle -> salle.setOccupancyRate(occupationService.tauxOuZero(taux, salle.getId())));
         return salles;
     }
 
+    // Même liste depuis le cache ; chaque taux est posé sur une copie : les fiches du cache restent intactes
+    public List<FicheSalle> getFichesSalles() {
+        Map<Long, TauxOccupation> taux = occupationService.tauxParSalle();
+        return catalogue.toutes().stream()
+                .map(salle -> salle.withOccupancyRate(occupationService.tauxOuZero(taux, salle.getId())))
+                .toList();
+    }
+
     public Salle getSalleById(Long id) {
         Salle salle = salleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Salle non trouvée avec l'id : " + id));
-        calculerTauxOccupation(salle);
+        salle.setOccupancyRate(occupationService.tauxSalle(id).taux());
         return salle;
     }
 
+    // Catalogue seul (formulaires), servi par le cache sans calcul d'occupation
+    public List<FicheSalle> getCatalogueSalles() {
+        return catalogue.toutes();
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CATALOGUE_SALLES, allEntries = true)
     public Salle saveSalle(Salle salle) {
         return salleRepository.save(salle);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATALOGUE_SALLES, allEntries = true)
     public Salle updateSalle(Long id, Salle salleDetails) {
         Salle salle = salleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Salle non trouvée avec l'id : " + id));
@@ -49,9 +89,13 @@ public class SalleService {
         return salleRepository.save(salle);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CATALOGUE_SALLES, allEntries = true)
     public void deleteSalle(Long id) {
         Salle salle = salleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Salle non trouvée avec l'id : " + id));
+        // Ses réservations partent en cascade : les index mémoire doivent les retirer eux aussi
+        reservationRepository.findEtatsBySalleId(id)
+                .forEach(etat -> eventPublisher.publishEvent(ReservationModifieeEvent.suppression(etat)));
         salleRepository.delete(salle);
     }
 
@@ -59,37 +103,70 @@ public class SalleService {
         return salleRepository.findByDisponibleTrue();
     }
 
+    public List<FicheSalle> getFichesSallesDisponibles() {
+        return catalogue.disponibles();
+    }
+
     public List<Salle> getSallesByType(String type) {
         return salleRepository.findByType(type);
     }
 
+    public List<FicheSalle> getFichesSallesParType(String type) {
+        return catalogue.parType(type);
+    }
+
+    // Salles libres tirées des bitmaps d'occupation, puis chargées par id en une requête
     public List<Salle> getSallesDisponiblesPourPeriode(LocalDateTime dateDebut, LocalDateTime dateFin) {
-        return salleRepository.findSallesDisponibles(dateDebut, dateFin);
+        if (!availabilityIndex.estPret()) {
+            return sallesLibresEnBase(dateDebut, dateFin);
+        }
+        List<Long> ids = getFichesSallesDisponiblesPourPeriode(dateDebut, dateFin).stream()
+                .map(FicheSalle::getId)
+                .toList();
+        return ids.isEmpty() ? List.of() : salleRepository.findAllById(ids);
+    }
+
+    // Filtrage en mémoire par les bitmaps d'occupation ; requête NOT IN tant que l'index n'est pas construit
+    public List<FicheSalle> getFichesSallesDisponiblesPourPeriode(LocalDateTime dateDebut, LocalDateTime dateFin) {
+        if (!availabilityIndex.estPret()) {
+            return sallesLibresEnBase(dateDebut, dateFin).stream().map(FicheSalle::of).toList();
+        }
+        return catalogue.toutes().stream()
+                .filter(salle -> availabilityIndex.estLibre(salle.getId(), dateDebut, dateFin))
+                .filter(salle -> !serieService.aConflit(salle.getId(), dateDebut, dateFin))
+                .toList();
+    }
+
+    private List<Salle> sallesLibresEnBase(LocalDateTime dateDebut, LocalDateTime dateFin) {
+        return salleRepository.findSallesDisponibles(dateDebut, dateFin).stream()
+                .filter(salle -> !serieService.aConflit(salle.getId(), dateDebut, dateFin))
+                .toList();
     }
 
     public List<Salle> getSallesByCapaciteMin(Integer capacite) {
         return salleRepository.findByCapaciteGreaterThanEqual(capacite);
     }
 
+    public List<FicheSalle> getFichesSallesParCapaciteMin(Integer capacite) {
+        return catalogue.parCapaciteMin(capacite);
+    }
+
     public List<Salle> getSallesByPrixMax(Double prixMax) {
         return salleRepository.findByPrixHeureMax(prixMax);
     }
 
+    public List<FicheSalle> getFichesSallesParPrixMax(Double prixMax) {
+        return catalogue.parPrixMax(prixMax);
+    }
+
     // Dashboard
     public long countSalles() {
         return salleRepository.count();
     }
 
-    // ✅ Calcul du taux d'occupation
-    private void calculerTauxOccupation(Salle salle) {
-        long reservationsConfirmees = salle.getReservations().stream()
-                .filter(r -> r.getStatut() != null && r.getStatut().name().equals("CONFIRMEE"))
-                .count();
-
-        if (salle.getCapacite() > 0) {
-            salle.setOccupancyRate((double) reservationsConfirmees / salle.getCapacite() * 100);
-        } else {
-            salle.setOccupancyRate(0.0);
-        }
+    // Réservations confirmées, minutes réservées et revenu par salle sur [debut, fin[, lus dans les agrégats journaliers
+    @Transactional(readOnly = true)
+    public List<StatistiquesSalle> getStatistiquesSalles(LocalDate debut, LocalDate fin) {
+        return dailyStatRepository.sumParSalle(debut, fin);
     }
 }
@@ -0,0 +1,212 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.DemandeSerie;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.SerieReservation;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.SerieModifieeEvent;
+import com.gestion.sallesport.exception.ConflitReservationException;
+import com.gestion.sallesport.exception.RequeteInvalideException;
+import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import com.gestion.sallesport.repository.SerieReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Séries de réservations récurrentes. Leurs occurrences ne sont jamais des lignes de reservations :
+// les conflits et la disponibilité les vérifient à part (aConflit), le flux de disponibilité reçoit un
+// SerieModifieeEvent par changement de série. Les agrégats journaliers (reservation_daily_stats) et les
+// réservations récentes ne portent que sur les réservations simples et ne comptent pas les occurrences.
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class SerieReservationService {
+
+    private final SerieReservationRepository serieRepository;
+    private final ReservationRepository reservationRepository;
+    private final ClientRepository clientRepository;
+    private final SalleRepository salleRepository;
+    private final SalleLockStripes salleLocks;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Séries confirmées par salle : les conflits contre une série se vérifient sans requête
+    private final Map<Long, List<SerieReservation>> seriesConfirmees = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void chargerSeriesConfirmees() {
+        seriesConfirmees.clear();
+        seriesConfirmees.putAll(serieRepository.findByStatut(Reservation.StatutReservation.CONFIRMEE).stream()
+                .collect(Collectors.groupingBy(serie -> serie.getSalle().getId())));
+        log.info("{} salles ont des séries de réservations confirmées", seriesConfirmees.size());
+    }
+
+    public SerieReservation getSerieById(Long id) {
+        return serieRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Série non trouvée avec l'id : " + id));
+    }
+
+    public SerieReservation createSerie(DemandeSerie demande) {
+        SerieReservation serie = new SerieReservation();
+        serie.setClient(clientRepository.findById(demande.clientId())
+                .orElseThrow(() -> new RequeteInvalideException("Client non trouvé avec l'id : " + demande.clientId())));
+        serie.setSalle(salleRepository.findById(demande.salleId())
+                .orElseThrow(() -> new RequeteInvalideException("Salle non trouvée avec l'id : " + demande.salleId())));
+        serie.setPremierDebut(demande.premierDebut());
+        serie.setDureeMinutes(demande.dureeMinutes());
+        if (demande.frequence() != null) {
+            serie.setFrequence(demande.frequence());
+        }
+        if (demande.intervalle() != null) {
+            serie.setIntervalle(demande.intervalle());
+        }
+        serie.setDateFinRecurrence(demande.dateFinRecurrence());
+        serie.setNombreOccurrences(demande.nombreOccurrences());
+        if (demande.statut() != null) {
+            serie.setStatut(demande.statut());
+        }
+        serie.setRemarques(demande.remarques());
+
+        validateSerie(serie);
+        salleLocks.verrouillerJusquaFinTransaction(serie.getSalle().getId());
+        if (serie.getStatut() == Reservation.StatutReservation.CONFIRMEE) {
+            verifierConflits(serie);
+        }
+
+        SerieReservation saved = serieRepository.save(serie);
+        rafraichirApresCommit(saved.getSalle().getId());
+        eventPublisher.publishEvent(SerieModifieeEvent.of(saved));
+        return saved;
+    }
+
+    public SerieReservation confirmerSerie(Long id) {
+        SerieReservation serie = getSerieById(id);
+        salleLocks.verrouillerJusquaFinTransaction(serie.getSalle().getId());
+        if (serie.getStatut() != Reservation.StatutReservation.CONFIRMEE) {
+            verifierConflits(serie);
+            serie.setStatut(Reservation.StatutReservation.CONFIRMEE);
+        }
+        return enregistrer(serie);
+    }
+
+    public SerieReservation annulerSerie(Long id) {
+        SerieReservation serie = getSerieById(id);
+        salleLocks.verrouillerJusquaFinTransaction(serie.getSalle().getId());
+        serie.setStatut(Reservation.StatutReservation.ANNULEE);
+        return enregistrer(serie);
+    }
+
+    // Retirer une séance de la série (jour férié, fermeture...)
+    public SerieReservation ajouterException(Long id, LocalDate date) {
+        SerieReservation serie = getSerieById(id);
+        salleLocks.verrouillerJusquaFinTransaction(serie.getSalle().getId());
+        serie.getExceptions().add(date);
+        return enregistrer(serie);
+    }
+
+    private SerieReservation enregistrer(SerieReservation serie) {
+        rafraichirApresCommit(serie.getSalle().getId());
+        SerieReservation saved = serieRepository.save(serie);
+        eventPublisher.publishEvent(SerieModifieeEvent.of(saved));
+        return saved;
+    }
+
+    // Conflit entre un créneau et une série confirmée de la salle, par calcul sur les indices d'occurrence
+    public boolean aConflit(Long salleId, LocalDateTime dateDebut, LocalDateTime dateFin) {
+        return seriesConfirmees.getOrDefault(salleId, List.of()).stream()
+                .anyMatch(serie -> serie.chevauche(dateDebut, dateFin));
+    }
+
+    // Occurrences des séries non annulées entièrement comprises dans [debut, fin], sous forme de réservations non persistées
+    @Transactional(readOnly = true)
+    public List<Reservation> getOccurrencesBetween(LocalDateTime debut, LocalDateTime fin) {
+        List<Reservation> occurrences = new ArrayList<>();
+        for (SerieReservation serie : serieRepository.findActivesIntersectant(debut.toLocalDate(), fin)) {
+            for (LocalDateTime occurrence : serie.occurrencesEntre(debut, fin)) {
+                LocalDateTime finOccurrence = serie.finOccurrence(occurrence);
+                if (!occurrence.isBefore(debut) && !finOccurrence.isAfter(fin)) {
+                    occurrences.add(versReservation(serie, occurrence, finOccurrence));
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    private Reservation versReservation(SerieReservation serie, LocalDateTime debut, LocalDateTime fin) {
+        Reservation reservation = new Reservation();
+        reservation.setClient(serie.getClient());
+        reservation.setSalle(serie.getSalle());
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setStatut(serie.getStatut());
+        reservation.setRemarques(serie.getRemarques());
+        reservation.setDateCreation(serie.getDateCreation());
+        reservation.calculerPrixTotal();
+        return reservation;
+    }
+
+    // Réservations existantes : une requête depuis le début de la série, sans borne de fin pour une série
+    // sans fin, puis un test arithmétique chacune. Autres séries : comparaison arithmétique des deux règles.
+    private void verifierConflits(SerieReservation serie) {
+        Long salleId = serie.getSalle().getId();
+        List<EtatReservation> reservations = serie.estSansFin()
+                ? reservationRepository.findEtatsConfirmesPourSalleApres(salleId, serie.getPremierDebut())
+                : reservationRepository.findEtatsConfirmesPourSalles(Set.of(salleId), serie.getPremierDebut(),
+                        serie.finOccurrence(serie.debutOccurrence(serie.derniereOccurrence())));
+
+        for (EtatReservation etat : reservations) {
+            if (serie.chevauche(etat.dateDebut(), etat.dateFin())) {
+                throw new ConflitReservationException(ReservationService.MESSAGE_CONFLIT + " (réservation n°" + etat.id() + ")");
+            }
+        }
+
+        for (SerieReservation autre : serieRepository.findBySalleIdAndStatut(salleId, Reservation.StatutReservation.CONFIRMEE)) {
+            if (!autre.getId().equals(serie.getId()) && serie.chevauche(autre)) {
+                throw new ConflitReservationException(ReservationService.MESSAGE_CONFLIT + " (série n°" + autre.getId() + ")");
+            }
+        }
+    }
+
+    private void validateSerie(SerieReservation serie) {
+        if (serie.getPremierDebut() == null || serie.getDureeMinutes() == null || serie.getDureeMinutes() <= 0) {
+            throw new RequeteInvalideException("La première séance et une durée positive sont obligatoires");
+        }
+        if (serie.getPremierDebut().isBefore(LocalDateTime.now())) {
+            throw new RequeteInvalideException("La série ne peut pas commencer dans le passé");
+        }
+        if (serie.getIntervalle() < 1) {
+            throw new RequeteInvalideException("L'intervalle doit être positif");
+        }
+        if (serie.getDureeMinutes() >= serie.periodeMinutes()) {
+            throw new RequeteInvalideException("La durée d'une séance doit être inférieure à la période de la série");
+        }
+    }
+
+    private void rafraichirApresCommit(Long salleId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seriesConfirmees.put(salleId,
+                        serieRepository.findBySalleIdAndStatut(salleId, Reservation.StatutReservation.CONFIRMEE));
+            }
+        });
+    }
+}
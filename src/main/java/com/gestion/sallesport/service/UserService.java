@@ -1,23 +1,33 @@
 package com.gestion.sallesport.service;
 
+import com.gestion.sallesport.config.CacheConfig;
 import com.gestion.sallesport.entity.User;
 import com.gestion.sallesport.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+@Slf4j
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final HachageMotDePasse hachageMotDePasse;
+    private final DerniereConnexionBuffer derniereConnexionBuffer;
+    private final CacheManager cacheManager;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -25,31 +35,62 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé: " + username));
     }
 
+    // Toute écriture sur un utilisateur invalide ses UserDetails mis en cache par l'authentification
     public User createUser(String username, String password, String fullName, User.Role role) {
+        try {
+            return createUserAsync(username, password, fullName, role).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // Le hachage s'exécute sur le pool dédié : l'appelant (import, inscription en masse) n'attend pas le CPU.
+    // Toute erreur passe par le CompletableFuture ; l'entrée du cache est retirée une fois l'utilisateur
+    // enregistré, pas au retour de la méthode (un @CacheEvict agirait avant la sauvegarde).
+    public CompletableFuture<User> createUserAsync(String username, String password, String fullName, User.Role role) {
         if (userRepository.existsByUsername(username)) {
-            throw new RuntimeException("L'utilisateur existe déjà: " + username);
+            return CompletableFuture.failedFuture(new RuntimeException("L'utilisateur existe déjà: " + username));
         }
 
-        User user = new User();
-        user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
-        user.setFullName(fullName);
-        user.setRole(role);
-        user.setCreatedAt(LocalDateTime.now());
+        return hachageMotDePasse.encoder(password).thenApply(hash -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(hash);
+            user.setFullName(fullName);
+            user.setRole(role);
+            user.setCreatedAt(LocalDateTime.now());
+            User saved = userRepository.save(user);
+            evincer(username);
+            return saved;
+        });
+    }
+
+    private void evincer(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.UTILISATEURS);
+        if (cache != null) {
+            cache.evict(username);
+        }
+    }
 
-        return userRepository.save(user);
+    // Appelée par DaoAuthenticationProvider après une connexion réussie quand le hachage stocké est
+    // d'un autre algorithme ou d'un coût inférieur à la configuration : newPassword est déjà haché
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.UTILISATEURS, key = "#user.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User utilisateur = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé: " + user.getUsername()));
+        utilisateur.setPassword(newPassword);
+        log.info("Hachage du mot de passe mis à niveau pour {}", user.getUsername());
+        return userRepository.save(utilisateur);
     }
 
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    // Coalescée en mémoire puis écrite par lot (voir DerniereConnexionBuffer)
     public void updateLastLogin(String username) {
-        userRepository.findByUsername(username)
-                .ifPresent(user -> {
-                    user.setLastLogin(LocalDateTime.now());
-                    userRepository.save(user);
-                });
+        derniereConnexionBuffer.enregistrer(username, LocalDateTime.now());
     }
 
     public boolean existsByUsername(String username) {
@@ -0,0 +1,60 @@
+package com.gestion.sallesport.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExclusionConstraintInitializerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ReservationExclusionConstraintInitializer initializer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_shouldReportExistingOverlapsInsteadOfAddingConstraint() {
+        // Given : contrainte absente, deux réservations confirmées déjà en conflit
+        given(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any())).willReturn(false);
+        given(jdbcTemplate.query(anyString(), any(RowMapper.class)))
+                .willReturn(List.of("salle 3 : réservations n°12 et n°15"));
+
+        // When & Then
+        assertThatThrownBy(() -> initializer.run(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(ReservationExclusionConstraintInitializer.NOM_CONTRAINTE)
+                .hasMessageContaining("salle 3 : réservations n°12 et n°15");
+        verify(jdbcTemplate, never()).execute(contains("ADD CONSTRAINT"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_shouldAddConstraintWhenNoOverlapExists() {
+        // Given
+        given(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any())).willReturn(false);
+        given(jdbcTemplate.query(anyString(), any(RowMapper.class))).willReturn(List.of());
+
+        // When
+        initializer.run(null);
+
+        // Then
+        verify(jdbcTemplate).execute(contains("ADD CONSTRAINT"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.gestion.sallesport.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityConfigTest {
+
+    private PasswordEncoder encodeur(int cout) {
+        SecurityConfig config = new SecurityConfig();
+        ReflectionTestUtils.setField(config, "coutBcrypt", cout);
+        return config.passwordEncoder();
+    }
+
+    @Test
+    void passwordEncoder_shouldMatchLegacyBcryptHashesAndFlagThemForUpgrade() {
+        // Given : hachage stocké avant l'introduction du préfixe {id}
+        String ancienHachage = new BCryptPasswordEncoder().encode("admin123");
+        PasswordEncoder passwordEncoder = encodeur(10);
+
+        // When & Then
+        assertThat(passwordEncoder.matches("admin123", ancienHachage)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(ancienHachage)).isTrue();
+    }
+
+    @Test
+    void passwordEncoder_shouldUpgradeOnlyHashesBelowConfiguredCost() {
+        // Given
+        String hachageCout4 = encodeur(4).encode("admin123");
+        PasswordEncoder passwordEncoder = encodeur(5);
+
+        // When
+        String nouveauHachage = passwordEncoder.encode("admin123");
+
+        // Then
+        assertThat(nouveauHachage).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches("admin123", hachageCout4)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(hachageCout4)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(nouveauHachage)).isFalse();
+    }
+}
@@ -0,0 +1,38 @@
+package com.gestion.sallesport.controller;
+
+import com.gestion.sallesport.config.CompteurRequetesSql;
+import com.gestion.sallesport.support.BudgetRequetes;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Application complète sur H2, avec les données de DataInitializer
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budget-requetes;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+class DashboardControllerRequetesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void dashboard_shouldStayWithinQueryBudget() throws Exception {
+        // When : compteurs, revenu du mois, réservations récentes, occupation, salles populaires
+        CompteurRequetesSql.Mesure mesure = BudgetRequetes.verifier(5,
+                () -> mockMvc.perform(get("/dashboard")).andExpect(status().isOk()));
+
+        // Then : aucune forme de requête répétée (pas de N+1 au rendu)
+        assertThat(mesure.nombreParForme().values()).allMatch(fois -> fois == 1);
+    }
+}
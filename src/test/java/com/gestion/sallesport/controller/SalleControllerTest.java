@@ -1,18 +1,19 @@
 package com.gestion.sallesport.controller;
 
+import com.gestion.sallesport.dto.FicheSalle;
 import com.gestion.sallesport.entity.Salle;
 import com.gestion.sallesport.service.SalleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Arrays;
-import java.util.Optional;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -20,7 +21,9 @@ import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// Contrôleur seul : la sécurité (connexion, CSRF) n'est pas l'objet de ces tests
 @WebMvcTest(SalleController.class)
+@AutoConfigureMockMvc(addFilters = false)
 class SalleControllerTest {
 
     @Autowired
@@ -50,7 +53,7 @@ class SalleControllerTest {
     @Test
     void listSalles_shouldReturnSallesListView() throws Exception {
         // Given
-        given(salleService.getAllSalles()).willReturn(Arrays.asList(salle));
+        given(salleService.getFichesSalles()).willReturn(List.of(FicheSalle.of(salle)));
 
         // When & Then
         mockMvc.perform(get("/salles"))
@@ -102,7 +105,7 @@ class SalleControllerTest {
     @Test
     void showSalle_withValidId_shouldReturnDetailView() throws Exception {
         // Given
-        given(salleService.getSalleById(1L)).willReturn(Optional.of(salle));
+        given(salleService.getSalleById(1L)).willReturn(salle);
 
         // When & Then
         mockMvc.perform(get("/salles/1"))
@@ -114,7 +117,7 @@ class SalleControllerTest {
     @Test
     void showEditForm_withValidId_shouldReturnEditFormView() throws Exception {
         // Given
-        given(salleService.getSalleById(1L)).willReturn(Optional.of(salle));
+        given(salleService.getSalleById(1L)).willReturn(salle);
 
         // When & Then
         mockMvc.perform(get("/salles/1/edit"))
@@ -151,7 +154,7 @@ class SalleControllerTest {
     @Test
     void listSallesDisponibles_shouldReturnAvailableSallesView() throws Exception {
         // Given
-        given(salleService.getSallesDisponibles()).willReturn(Arrays.asList(salle));
+        given(salleService.getFichesSallesDisponibles()).willReturn(List.of(FicheSalle.of(salle)));
 
         // When & Then
         mockMvc.perform(get("/salles/disponibles"))
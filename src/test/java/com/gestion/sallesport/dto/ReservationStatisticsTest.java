@@ -0,0 +1,40 @@
+package com.gestion.sallesport.dto;
+
+import com.gestion.sallesport.entity.Reservation.StatutReservation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationStatisticsTest {
+
+    @Test
+    void of_ShouldExposeCountsAndRevenueFromGroupedRows() {
+        // Given
+        List<AgregatStatut> agregats = List.of(
+                new AgregatStatut(StatutReservation.CONFIRMEE, 3L, 450.0),
+                new AgregatStatut(StatutReservation.EN_ATTENTE, 2L, 120.0),
+                new AgregatStatut(StatutReservation.ANNULEE, 1L, null));
+
+        // When
+        ReservationStatistics statistiques = ReservationStatistics.of(agregats);
+
+        // Then
+        assertThat(statistiques.getNombreTotal()).isEqualTo(6);
+        assertThat(statistiques.getNombreConfirmees()).isEqualTo(3);
+        assertThat(statistiques.getNombreEnAttente()).isEqualTo(2);
+        assertThat(statistiques.getNombreTerminees()).isZero();
+        assertThat(statistiques.getRevenusConfirmes()).isEqualTo(450.0);
+    }
+
+    @Test
+    void of_ShouldReturnZerosWhenNoReservation() {
+        // When
+        ReservationStatistics statistiques = ReservationStatistics.of(List.of());
+
+        // Then
+        assertThat(statistiques.getNombreTotal()).isZero();
+        assertThat(statistiques.getRevenusConfirmes()).isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package com.gestion.sallesport.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerieReservationTest {
+
+    private SerieReservation serie;
+
+    private LocalDateTime premierMardi;
+
+    @BeforeEach
+    void setUp() {
+        // Yoga tous les mardis de 18h à 19h30 pendant un an
+        premierMardi = LocalDateTime.of(2030, 1, 1, 18, 0);
+        serie = new SerieReservation();
+        serie.setPremierDebut(premierMardi);
+        serie.setDureeMinutes(90);
+        serie.setFrequence(SerieReservation.Frequence.HEBDOMADAIRE);
+        serie.setNombreOccurrences(52);
+    }
+
+    @Test
+    void derniereOccurrence_shouldUseCountAndUntil() {
+        // When & Then
+        assertThat(serie.derniereOccurrence()).isEqualTo(51);
+
+        serie.setDateFinRecurrence(LocalDate.of(2030, 1, 22));
+        assertThat(serie.derniereOccurrence()).isEqualTo(3);
+
+        serie.setNombreOccurrences(null);
+        serie.setDateFinRecurrence(null);
+        assertThat(serie.estSansFin()).isTrue();
+    }
+
+    @Test
+    void occurrencesEntre_shouldOnlyExpandTheWindow() {
+        // When
+        var occurrences = serie.occurrencesEntre(LocalDateTime.of(2030, 3, 1, 0, 0), LocalDateTime.of(2030, 3, 31, 23, 59));
+
+        // Then
+        assertThat(occurrences).containsExactly(
+                LocalDateTime.of(2030, 3, 5, 18, 0),
+                LocalDateTime.of(2030, 3, 12, 18, 0),
+                LocalDateTime.of(2030, 3, 19, 18, 0),
+                LocalDateTime.of(2030, 3, 26, 18, 0));
+    }
+
+    @Test
+    void chevauche_shouldDetectOverlapWithInclusiveBounds() {
+        // When & Then
+        assertThat(serie.chevauche(LocalDateTime.of(2030, 6, 4, 19, 0), LocalDateTime.of(2030, 6, 4, 20, 0))).isTrue();
+        assertThat(serie.chevauche(LocalDateTime.of(2030, 6, 4, 19, 30), LocalDateTime.of(2030, 6, 4, 20, 0))).isTrue();
+        assertThat(serie.chevauche(LocalDateTime.of(2030, 6, 4, 19, 31), LocalDateTime.of(2030, 6, 4, 20, 0))).isFalse();
+        assertThat(serie.chevauche(LocalDateTime.of(2030, 6, 5, 18, 0), LocalDateTime.of(2030, 6, 5, 19, 0))).isFalse();
+        assertThat(serie.chevauche(LocalDateTime.of(2031, 6, 3, 18, 0), LocalDateTime.of(2031, 6, 3, 19, 0))).isFalse();
+    }
+
+    @Test
+    void chevauche_shouldSkipExceptions() {
+        // Given
+        serie.getExceptions().add(LocalDate.of(2030, 6, 4));
+
+        // When & Then
+        assertThat(serie.chevauche(LocalDateTime.of(2030, 6, 4, 18, 0), LocalDateTime.of(2030, 6, 4, 19, 0))).isFalse();
+        assertThat(serie.occurrencesEntre(LocalDateTime.of(2030, 6, 1, 0, 0), LocalDateTime.of(2030, 6, 12, 0, 0)))
+                .containsExactly(LocalDateTime.of(2030, 6, 11, 18, 0));
+    }
+
+    @Test
+    void chevaucheSerie_shouldCompareRulesWithoutExpandingOccurrences() {
+        // Given : séance quotidienne de 18h30 à 19h, une semaine sur deux à partir du jeudi 3 janvier
+        SerieReservation autre = new SerieReservation();
+        autre.setPremierDebut(LocalDateTime.of(2030, 1, 3, 18, 30));
+        autre.setDureeMinutes(30);
+        autre.setFrequence(SerieReservation.Frequence.QUOTIDIENNE);
+        autre.setIntervalle(14);
+
+        // When & Then : jeudis pairs contre mardis, jamais le même jour
+        assertThat(serie.chevauche(autre)).isFalse();
+
+        // Un jour plus tôt : mercredis 2, 16, 30 janvier... ; toujours pas de mardi
+        autre.setPremierDebut(LocalDateTime.of(2030, 1, 2, 18, 30));
+        assertThat(serie.chevauche(autre)).isFalse();
+
+        // Mardi 15 janvier, puis un mardi sur deux : chevauchement symétrique
+        autre.setPremierDebut(LocalDateTime.of(2030, 1, 15, 18, 30));
+        assertThat(serie.chevauche(autre)).isTrue();
+        assertThat(autre.chevauche(serie)).isTrue();
+
+        // Bornes incluses : 19h30 touche la fin de la séance de yoga, 19h31 non
+        autre.setPremierDebut(LocalDateTime.of(2030, 1, 15, 19, 30));
+        assertThat(serie.chevauche(autre)).isTrue();
+        autre.setPremierDebut(LocalDateTime.of(2030, 1, 15, 19, 31));
+        assertThat(serie.chevauche(autre)).isFalse();
+    }
+
+    @Test
+    void chevaucheSerie_shouldRespectEndsAndExceptions() {
+        // Given : mardis à 19h, sans fin, à partir d'une date bien après la fin de la série de yoga
+        SerieReservation autre = new SerieReservation();
+        autre.setPremierDebut(LocalDateTime.of(2031, 1, 7, 19, 0));
+        autre.setDureeMinutes(60);
+        autre.setFrequence(SerieReservation.Frequence.HEBDOMADAIRE);
+
+        // When & Then : la série de yoga s'arrête le 24 décembre 2030
+        assertThat(serie.chevauche(autre)).isFalse();
+        serie.setNombreOccurrences(null);
+        assertThat(serie.chevauche(autre)).isTrue();
+
+        // Seules les deux premières séances communes sont retirées : le chevauchement reste
+        serie.getExceptions().add(LocalDate.of(2031, 1, 7));
+        autre.getExceptions().add(LocalDate.of(2031, 1, 14));
+        assertThat(serie.chevauche(autre)).isTrue();
+
+        // Série bornée dont toutes les séances communes sont des exceptions
+        autre.setNombreOccurrences(2);
+        assertThat(serie.chevauche(autre)).isFalse();
+    }
+}
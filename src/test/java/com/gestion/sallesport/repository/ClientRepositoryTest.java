@@ -0,0 +1,74 @@
+package com.gestion.sallesport.repository;
+
+import com.gestion.sallesport.dto.ClientStatistiques;
+import com.gestion.sallesport.entity.Client;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ClientRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Test
+    void countParAbonnement_shouldGroupByTypeAndCountSignUpsInRange() {
+        // Given
+        creerClient("Rakoto", Client.TypeAbonnement.ANNUEL, LocalDate.of(2030, 4, 30));
+        creerClient("Rabe", Client.TypeAbonnement.ANNUEL, LocalDate.of(2030, 5, 2));
+        creerClient("Andria", Client.TypeAbonnement.MENSUEL, LocalDate.of(2030, 5, 31));
+        creerClient("Hery", Client.TypeAbonnement.MENSUEL, LocalDate.of(2030, 6, 1));
+        entityManager.flush();
+
+        // When
+        ClientStatistiques statistiques = ClientStatistiques.of(
+                clientRepository.countParAbonnement(LocalDate.of(2030, 5, 1), LocalDate.of(2030, 6, 1)));
+
+        // Then
+        assertThat(statistiques.getTotal()).isEqualTo(4);
+        assertThat(statistiques.getNombreAbonnesAnnuels()).isEqualTo(2);
+        assertThat(statistiques.getNombreAbonnesMensuels()).isEqualTo(2);
+        assertThat(statistiques.getNouveaux()).isEqualTo(2);
+    }
+
+    @Test
+    void findByTypeAbonnement_shouldReturnSliceWithoutCount() {
+        // Given
+        creerClient("Rakoto", Client.TypeAbonnement.ANNUEL, LocalDate.of(2030, 1, 1));
+        creerClient("Rabe", Client.TypeAbonnement.ANNUEL, LocalDate.of(2030, 1, 1));
+        creerClient("Andria", Client.TypeAbonnement.ANNUEL, LocalDate.of(2030, 1, 1));
+        creerClient("Hery", Client.TypeAbonnement.MENSUEL, LocalDate.of(2030, 1, 1));
+        entityManager.flush();
+
+        // When
+        Slice<Client> premiere = clientRepository.findByTypeAbonnement(Client.TypeAbonnement.ANNUEL,
+                PageRequest.of(0, 2, Sort.by("nom")));
+
+        // Then
+        assertThat(premiere.getContent()).extracting(Client::getNom).containsExactly("Andria", "Rabe");
+        assertThat(premiere.hasNext()).isTrue();
+    }
+
+    private void creerClient(String nom, Client.TypeAbonnement type, LocalDate inscription) {
+        Client client = new Client();
+        client.setNom(nom);
+        client.setPrenom("Test");
+        client.setEmail(nom.toLowerCase() + "@example.com");
+        client.setTelephone("0340000000");
+        client.setTypeAbonnement(type);
+        client.setDateInscription(inscription);
+        entityManager.persist(client);
+    }
+}
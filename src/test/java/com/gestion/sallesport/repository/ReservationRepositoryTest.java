@@ -0,0 +1,191 @@
+package com.gestion.sallesport.repository;
+
+import com.gestion.sallesport.dto.AgregatStatut;
+import com.gestion.sallesport.dto.CurseurPage;
+import com.gestion.sallesport.dto.FiltreReservation;
+import com.gestion.sallesport.dto.ReservationRow;
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.exception.RequeteInvalideException;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+class ReservationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Client client;
+
+    private Salle salle;
+
+    @BeforeEach
+    void setUp() {
+        client = new Client();
+        client.setNom("Rakoto");
+        client.setPrenom("Jean");
+        client.setEmail("jean.rakoto@example.com");
+        client.setTelephone("0340000000");
+        entityManager.persist(client);
+
+        salle = new Salle();
+        salle.setNom("Salle Cardio");
+        salle.setType("Cardio");
+        salle.setCapacite(20);
+        salle.setPrixHeure(25000.0);
+        entityManager.persist(salle);
+    }
+
+    @Test
+    void findPageApres_shouldReturnRowsNewestFirstAfterCursor() {
+        // Given
+        LocalDateTime debut = LocalDateTime.of(2030, 3, 1, 8, 0);
+        Reservation premiere = creerReservation(debut);
+        Reservation deuxieme = creerReservation(debut.plusDays(1));
+        Reservation troisieme = creerReservation(debut.plusDays(2));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<ReservationRow> page = reservationRepository.findPageApres(FiltreReservation.aucun(), null, 2);
+        List<ReservationRow> suite = reservationRepository.findPageApres(FiltreReservation.aucun(),
+                new CurseurPage(page.get(1).getDateDebut(), page.get(1).getId()), 2);
+
+        // Then
+        assertThat(page).extracting(ReservationRow::getId).containsExactly(troisieme.getId(), deuxieme.getId());
+        assertThat(page.get(0).getClientNom()).isEqualTo("Rakoto");
+        assertThat(page.get(0).getSalleNom()).isEqualTo("Salle Cardio");
+        assertThat(suite).extracting(ReservationRow::getId).containsExactly(premiere.getId());
+    }
+
+    @Test
+    void findPageApres_shouldSplitEqualStartDatesByIdWithoutSkippingOrRepeating() {
+        // Given : cinq réservations au même début, la limite de page tombe au milieu
+        LocalDateTime debut = LocalDateTime.of(2030, 3, 1, 8, 0);
+        List<Long> attendus = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            attendus.add(0, creerReservation(debut).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When : parcours par pages de 2 en repassant par le jeton encodé, comme le ferait un client
+        List<Long> lus = new ArrayList<>();
+        CurseurPage curseur = null;
+        List<ReservationRow> page;
+        do {
+            page = reservationRepository.findPageApres(FiltreReservation.aucun(), curseur, 2);
+            page.forEach(ligne -> lus.add(ligne.getId()));
+            if (!page.isEmpty()) {
+                ReservationRow derniere = page.get(page.size() - 1);
+                curseur = CurseurPage.decoder(new CurseurPage(derniere.getDateDebut(), derniere.getId()).encoder());
+            }
+        } while (page.size() == 2);
+
+        // Then
+        assertThat(lus).containsExactlyElementsOf(attendus);
+    }
+
+    @Test
+    void curseurPage_shouldRoundTripThroughToken() {
+        // Given
+        CurseurPage curseur = new CurseurPage(LocalDateTime.of(2030, 3, 1, 8, 30, 15), 42L);
+
+        // When
+        String jeton = curseur.encoder();
+
+        // Then
+        assertThat(CurseurPage.decoder(jeton)).isEqualTo(curseur);
+        assertThat(CurseurPage.decoder(null)).isNull();
+        assertThat(CurseurPage.decoder(" ")).isNull();
+    }
+
+    @Test
+    void curseurPage_shouldRejectTamperedTokens() {
+        // Given : base64 invalide, séparateur absent, date illisible
+        String horsBase64 = "%%%";
+        String sansSeparateur = Base64.getUrlEncoder().withoutPadding().encodeToString("2030-03-01T08:00".getBytes());
+        String dateIllisible = Base64.getUrlEncoder().withoutPadding().encodeToString("hier|12".getBytes());
+
+        // When & Then
+        for (String jeton : List.of(horsBase64, sansSeparateur, dateIllisible)) {
+            assertThatThrownBy(() -> CurseurPage.decoder(jeton))
+                    .isInstanceOf(RequeteInvalideException.class)
+                    .hasMessageStartingWith("Jeton de page invalide");
+        }
+    }
+
+    @Test
+    void aggregateByStatut_shouldApplyListFilters() {
+        // Given : deux réservations du client, dont une confirmée, et une d'un autre client
+        LocalDateTime debut = LocalDateTime.of(2030, 3, 1, 8, 0);
+        creerReservation(debut).setStatut(Reservation.StatutReservation.CONFIRMEE);
+        creerReservation(debut.plusDays(1));
+        Client autre = new Client();
+        autre.setNom("Rabe");
+        autre.setPrenom("Paul");
+        autre.setEmail("paul.rabe@example.com");
+        autre.setTelephone("0340000001");
+        entityManager.persist(autre);
+        Reservation reservationAutre = creerReservation(debut.plusDays(2));
+        reservationAutre.setClient(autre);
+        reservationAutre.setStatut(Reservation.StatutReservation.CONFIRMEE);
+        entityManager.flush();
+
+        // When
+        List<AgregatStatut> duClient = reservationRepository.aggregateByStatut(
+                new FiltreReservation(null, salle.getId(), client.getId()), null, null);
+        List<AgregatStatut> confirmeesDuClient = reservationRepository.aggregateByStatut(
+                new FiltreReservation(Reservation.StatutReservation.CONFIRMEE, null, client.getId()), null, null);
+
+        // Then
+        assertThat(duClient).extracting(AgregatStatut::statut, AgregatStatut::nombre).containsExactlyInAnyOrder(
+                tuple(Reservation.StatutReservation.CONFIRMEE, 1L),
+                tuple(Reservation.StatutReservation.EN_ATTENTE, 1L));
+        assertThat(confirmeesDuClient).extracting(AgregatStatut::statut, AgregatStatut::nombre)
+                .containsExactly(tuple(Reservation.StatutReservation.CONFIRMEE, 1L));
+    }
+
+    @Test
+    void findDetailById_shouldFetchClientAndSalle() {
+        // Given
+        Reservation reservation = creerReservation(LocalDateTime.of(2030, 3, 1, 8, 0));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Reservation detail = reservationRepository.findDetailById(reservation.getId()).orElseThrow();
+
+        // Then
+        assertThat(Hibernate.isInitialized(detail.getClient())).isTrue();
+        assertThat(Hibernate.isInitialized(detail.getSalle())).isTrue();
+    }
+
+    private Reservation creerReservation(LocalDateTime debut) {
+        Reservation reservation = new Reservation();
+        reservation.setClient(client);
+        reservation.setSalle(salle);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(debut.plusHours(1));
+        reservation.setPrixTotal(25000.0);
+        return entityManager.persist(reservation);
+    }
+}
@@ -1,11 +1,16 @@
 package com.gestion.sallesport.repository;
 
+import com.gestion.sallesport.dto.SallePopulaire;
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
 import com.gestion.sallesport.entity.Salle;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -110,4 +115,57 @@ class SalleRepositoryTest {
         assertThat(largeRooms).hasSize(1);
         assertThat(largeRooms.get(0).getNom()).isEqualTo("Grande Salle");
     }
-}
\ No newline at end of file
+
+    @Test
+    void findSallesPopulaires_shouldRankRoomsByReservationCount() {
+        // Given
+        Salle calme = creerSalle("Salle Calme", 10);
+        Salle prisee = creerSalle("Salle Prisée", 20);
+        Salle vide = creerSalle("Salle Vide", 15);
+
+        Client client = new Client();
+        client.setNom("Rakoto");
+        client.setPrenom("Jean");
+        client.setEmail("jean.rakoto@example.com");
+        client.setTelephone("0340000000");
+        entityManager.persist(client);
+
+        LocalDateTime debut = LocalDateTime.of(2030, 3, 1, 8, 0);
+        for (int i = 0; i < 4; i++) {
+            creerReservation(client, prisee, debut.plusDays(i));
+        }
+        creerReservation(client, calme, debut);
+        entityManager.flush();
+
+        // When
+        List<SallePopulaire> top = salleRepository.findSallesPopulaires(PageRequest.of(0, 2));
+
+        // Then
+        assertThat(top).extracting(SallePopulaire::getNom).containsExactly("Salle Prisée", "Salle Calme");
+        assertThat(top.get(0).getNombreReservations()).isEqualTo(4);
+        assertThat(salleRepository.findSallesPopulaires(PageRequest.of(0, 5)))
+                .filteredOn(s -> s.getId().equals(vide.getId()))
+                .singleElement()
+                .satisfies(s -> assertThat(s.getNombreReservations()).isZero());
+    }
+
+    private Salle creerSalle(String nom, int capacite) {
+        Salle salle = new Salle();
+        salle.setNom(nom);
+        salle.setType("Musculation");
+        salle.setCapacite(capacite);
+        salle.setPrixHeure(25000.0);
+        salle.setDisponible(true);
+        return entityManager.persist(salle);
+    }
+
+    private void creerReservation(Client client, Salle salle, LocalDateTime debut) {
+        Reservation reservation = new Reservation();
+        reservation.setClient(client);
+        reservation.setSalle(salle);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(debut.plusHours(1));
+        reservation.setPrixTotal(25000.0);
+        entityManager.persist(reservation);
+    }
+}
@@ -0,0 +1,78 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.config.CacheConfig;
+import com.gestion.sallesport.dto.FicheSalle;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.repository.SalleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Hors transaction de test : le cache est transactionnel, les mises en cache ont lieu au commit
+@DataJpaTest
+@Import({CacheConfig.class, CatalogueSalles.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogueSallesTest {
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CatalogueSalles catalogue;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.CATALOGUE_SALLES).clear();
+    }
+
+    @Test
+    void parType_shouldBeServedFromCacheOnSecondCall() {
+        // Given
+        Salle salle = new Salle();
+        salle.setNom("Studio Yoga");
+        salle.setType("Yoga");
+        salle.setCapacite(15);
+        salle.setPrixHeure(20000.0);
+        salleRepository.save(salle);
+        TransactionAwareCacheDecorator decorateur =
+                (TransactionAwareCacheDecorator) cacheManager.getCache(CacheConfig.CATALOGUE_SALLES);
+        CaffeineCache cache = (CaffeineCache) decorateur.getTargetCache();
+        long succesAvant = cache.getNativeCache().stats().hitCount();
+
+        // When
+        List<FicheSalle> premier = catalogue.parType("Yoga");
+        List<FicheSalle> second = catalogue.parType("Yoga");
+
+        // Then
+        assertThat(second).isSameAs(premier);
+        assertThat(premier).extracting(FicheSalle::getNom).contains("Studio Yoga");
+        assertThat(cache.getNativeCache().stats().hitCount()).isEqualTo(succesAvant + 1);
+        assertThat(catalogue.parType("Musculation")).isEmpty();
+        assertThat(catalogue.toutes()).isNotSameAs(premier);
+    }
+
+    @Test
+    void cachedLists_shouldBeImmutable() {
+        // Given
+        List<FicheSalle> salles = catalogue.toutes();
+
+        // When & Then
+        assertThatThrownBy(() -> salles.add(salles.isEmpty() ? null : salles.get(0)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.event.ClientModifieEvent;
+import com.gestion.sallesport.event.FicheClient;
+import com.gestion.sallesport.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ClientSearchIndexTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @InjectMocks
+    private ClientSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        given(clientRepository.findFiches()).willReturn(List.of(
+                new FicheClient(1L, "Rakoto", "Jean", "jean.rakoto@mail.mg", "034 12 345 67"),
+                new FicheClient(2L, "Rakotobe", "Héry", "hery@mail.mg", "033 98 765 43"),
+                new FicheClient(3L, "Andria", "Jeanne", "jeanne.andria@mail.mg", "032 11 222 33")));
+        index.reconstruire();
+    }
+
+    @Test
+    void rechercher_shouldRankExactWordBeforePrefix() {
+        // When
+        List<FicheClient> resultats = index.rechercher("rakoto", 10);
+
+        // Then
+        assertThat(resultats).extracting(FicheClient::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void rechercher_shouldMatchEveryTermIgnoringAccents() {
+        // When & Then
+        assertThat(index.rechercher("hery rak", 10)).extracting(FicheClient::id).containsExactly(2L);
+        assertThat(index.rechercher("jean", 1)).extracting(FicheClient::id).containsExactly(1L);
+    }
+
+    @Test
+    void rechercher_shouldMatchPhoneSuffix() {
+        // When & Then
+        assertThat(index.rechercher("76543", 10)).extracting(FicheClient::id).containsExactly(2L);
+        assertThat(index.rechercher("0321122", 10)).extracting(FicheClient::id).containsExactly(3L);
+    }
+
+    @Test
+    void surClientModifie_shouldReindexAndRemoveClients() {
+        // When
+        index.surClientModifie(ClientModifieEvent.enregistrement(
+                new FicheClient(1L, "Rabe", "Jean", "jean.rabe@mail.mg", "034 12 345 67")));
+        index.surClientModifie(ClientModifieEvent.suppression(2L));
+
+        // Then
+        assertThat(index.rechercher("rakoto", 10)).isEmpty();
+        assertThat(index.rechercher("rabe", 10)).extracting(FicheClient::id).containsExactly(1L);
+    }
+
+    @Test
+    void reconstruire_shouldApplyConcurrentEventOnTopOfSnapshot() throws Exception {
+        // Given : un client renommé (commit déjà fait) pendant la lecture de l'instantané, qui ne le voit pas
+        FicheClient renomme = new FicheClient(3L, "Rasoa", "Jeanne", "jeanne.rasoa@mail.mg", "032 11 222 33");
+        Thread ecouteur = new Thread(() -> index.surClientModifie(ClientModifieEvent.enregistrement(renomme)));
+        given(clientRepository.findFiches()).willAnswer(invocation -> {
+            ecouteur.start();
+            ecouteur.join(200);
+            return List.of(new FicheClient(3L, "Andria", "Jeanne", "jeanne.andria@mail.mg", "032 11 222 33"));
+        });
+
+        // When
+        index.reconstruire();
+        ecouteur.join();
+
+        // Then : l'événement n'est pas écrasé par l'instantané
+        assertThat(index.rechercher("andria", 10)).isEmpty();
+        assertThat(index.rechercher("rasoa", 10)).extracting(FicheClient::id).containsExactly(3L);
+    }
+}
@@ -0,0 +1,97 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Chaque appel au service s'exécute dans sa propre transaction : les index sont mis à jour après commit
+@DataJpaTest
+@Import({ClientService.class, ClientSearchIndex.class, ReservationService.class, ReservationConflictIndex.class,
+        SalleLockStripes.class, SerieReservationService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClientServiceSuppressionTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationConflictIndex conflictIndex;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Salle salle;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        salle = new Salle();
+        salle.setNom("Salle Suppression");
+        salle.setType("Musculation");
+        salle.setCapacite(20);
+        salle.setPrixHeure(25000.0);
+        salle = salleRepository.save(salle);
+        conflictIndex.reconstruire();
+    }
+
+    @Test
+    void deleteClient_shouldFreeSlotsOfCascadedReservations() {
+        // Given : le créneau est confirmé pour un client, puis ce client est supprimé avec ses réservations
+        LocalDateTime debut = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Client partant = nouveauClient("partant@email.com");
+        reservationService.createReservation(nouvelleReservation(partant, debut));
+        assertThat(conflictIndex.aConflit(salle.getId(), debut, debut.plusHours(1), null)).isTrue();
+
+        // When
+        clientService.deleteClient(partant.getId());
+
+        // Then : l'index a retiré le créneau et un autre client peut le réserver
+        assertThat(conflictIndex.aConflit(salle.getId(), debut, debut.plusHours(1), null)).isFalse();
+        Reservation nouvelle = reservationService.createReservation(
+                nouvelleReservation(nouveauClient("suivant@email.com"), debut));
+        assertThat(nouvelle.getId()).isNotNull();
+    }
+
+    private Client nouveauClient(String email) {
+        Client client = new Client();
+        client.setNom("Suppression");
+        client.setPrenom("Test");
+        client.setEmail(email);
+        client.setTelephone("0123456789");
+        return clientRepository.save(client);
+    }
+
+    private Reservation nouvelleReservation(Client client, LocalDateTime dateDebut) {
+        Reservation reservation = new Reservation();
+        reservation.setClient(client);
+        reservation.setSalle(salle);
+        reservation.setDateDebut(dateDebut);
+        reservation.setDateFin(dateDebut.plusHours(1));
+        reservation.setStatut(Reservation.StatutReservation.CONFIRMEE);
+        return reservation;
+    }
+}
@@ -0,0 +1,93 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.CompteursTableauDeBord;
+import com.gestion.sallesport.dto.OrdreRecence;
+import com.gestion.sallesport.dto.TableauDeBord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCompositionServiceTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private ReservationsRecentes reservationsRecentes;
+
+    private DashboardCompositionService compositionService;
+
+    // Retient le widget lent jusqu'à la fin du test : son délai ne dépend pas de l'horloge de la machine
+    private final CountDownLatch liberation = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        compositionService = new DashboardCompositionService(dashboardService, reservationsRecentes, 4, 10);
+        ReflectionTestUtils.setField(compositionService, "timeoutMs", 200L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberation.countDown();
+        compositionService.arreter();
+    }
+
+    @Test
+    void composer_shouldRenderOtherWidgetsWhenOneIsTooSlow() {
+        // Given : les salles populaires ne répondent pas avant l'expiration du délai par widget
+        given(dashboardService.compteurs()).willReturn(new CompteursTableauDeBord(12, 4, 30));
+        given(dashboardService.revenueMonth()).willReturn(150000.0);
+        given(reservationsRecentes.dernieres(OrdreRecence.CREATION, 5)).willReturn(List.of());
+        given(dashboardService.sallesPopulaires(5)).willAnswer(invocation -> {
+            liberation.await();
+            return List.of();
+        });
+
+        // When
+        TableauDeBord tableau = compositionService.composer();
+
+        // Then
+        assertThat(tableau.getCompteurs().clients()).isEqualTo(12);
+        assertThat(tableau.getRevenuMois()).isEqualTo(150000.0);
+        assertThat(tableau.getReservationsRecentes()).isEmpty();
+        assertThat(tableau.getSallesPopulaires()).isNull();
+        assertThat(tableau.getIndisponibles()).containsExactly("salles populaires");
+    }
+
+    @Test
+    void composer_shouldMarkWidgetsRejectedBySaturatedPoolAsUnavailable() {
+        // Given : un seul thread, bloqué par les compteurs, et une file d'une place prise par le revenu
+        DashboardCompositionService saturee = new DashboardCompositionService(dashboardService, reservationsRecentes, 1, 1);
+        ReflectionTestUtils.setField(saturee, "timeoutMs", 200L);
+        given(dashboardService.compteurs()).willAnswer(invocation -> {
+            liberation.await();
+            return new CompteursTableauDeBord(12, 4, 30);
+        });
+
+        try {
+            // When
+            TableauDeBord tableau = saturee.composer();
+
+            // Then : les widgets refusés ne sont jamais calculés sur le thread de la requête
+            assertThat(tableau.getIndisponibles())
+                    .containsExactlyInAnyOrder("compteurs", "revenu du mois", "réservations récentes", "salles populaires");
+            verify(reservationsRecentes, never()).dernieres(OrdreRecence.CREATION, 5);
+            verify(dashboardService, never()).sallesPopulaires(5);
+        } finally {
+            saturee.arreter();
+        }
+    }
+}
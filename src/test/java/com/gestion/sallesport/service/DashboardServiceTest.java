@@ -0,0 +1,83 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.Granularite;
+import com.gestion.sallesport.dto.RevenuJour;
+import com.gestion.sallesport.dto.RevenuPeriode;
+import com.gestion.sallesport.repository.ReservationDailyStatRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private SalleRepository salleRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationDailyStatRepository dailyStatRepository;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    void revenuParPeriode_shouldGroupDailyRowsByWeekClippedToRange() {
+        // Given : du mercredi 2 au mercredi 16 janvier 2030, semaines commençant le lundi
+        LocalDate debut = LocalDate.of(2030, 1, 2);
+        LocalDate fin = LocalDate.of(2030, 1, 16);
+        given(dailyStatRepository.sumRevenuParJour(debut, fin))
+                .willReturn(List.of(
+                        new RevenuJour(LocalDate.of(2030, 1, 2), 100.0),
+                        new RevenuJour(LocalDate.of(2030, 1, 6), 50.0),
+                        new RevenuJour(LocalDate.of(2030, 1, 15), 30.0)));
+
+        // When
+        List<RevenuPeriode> revenus = dashboardService.revenuParPeriode(debut, fin, Granularite.SEMAINE);
+
+        // Then : la première semaine commence le 2, la dernière s'arrête le 16
+        assertThat(revenus).containsExactly(
+                new RevenuPeriode(debut, LocalDate.of(2030, 1, 7), 150.0),
+                new RevenuPeriode(LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 14), 0.0),
+                new RevenuPeriode(LocalDate.of(2030, 1, 14), fin, 30.0));
+    }
+
+    @Test
+    void revenuParPeriode_shouldRejectTooManyPeriods() {
+        // Given
+        ReflectionTestUtils.setField(dashboardService, "periodesMax", 400);
+
+        // When & Then : un siècle au jour le jour
+        assertThatThrownBy(() -> dashboardService.revenuParPeriode(
+                LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1), Granularite.JOUR))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("400");
+        verifyNoInteractions(dailyStatRepository);
+    }
+
+    @Test
+    void revenueMonth_shouldQueryCurrentCalendarMonthOnly() {
+        // Given
+        LocalDate debutMois = LocalDate.now().withDayOfMonth(1);
+        given(dailyStatRepository.sumRevenu(debutMois, debutMois.plusMonths(1)))
+                .willReturn(420.0);
+
+        // When & Then
+        assertThat(dashboardService.revenueMonth()).isEqualTo(420.0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.gestion.sallesport.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DerniereConnexionBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private DerniereConnexionBuffer buffer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ecrire_shouldCoalesceLoginsIntoOneBatchedUpdate() {
+        // Given : trois connexions d'admin et une d'accueil
+        LocalDateTime instant = LocalDateTime.of(2030, 1, 1, 9, 0);
+        buffer.enregistrer("admin", instant);
+        buffer.enregistrer("admin", instant.plusMinutes(5));
+        buffer.enregistrer("admin", instant.plusMinutes(2));
+        buffer.enregistrer("accueil", instant);
+
+        // When
+        buffer.ecrire();
+        buffer.ecrire();
+
+        // Then : un seul lot, une ligne par utilisateur avec la connexion la plus récente
+        ArgumentCaptor<List<Object[]>> lignes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), lignes.capture());
+        assertThat(lignes.getValue()).hasSize(2);
+        assertThat(lignes.getValue())
+                .filteredOn(ligne -> "admin".equals(ligne[1]))
+                .singleElement()
+                .satisfies(ligne -> assertThat(ligne[0]).isEqualTo(Timestamp.valueOf(instant.plusMinutes(5))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ecrire_shouldKeepLatestLoginPendingWhenBatchFails() {
+        // Given : l'écriture échoue une fois, puis une connexion plus ancienne arrive d'une autre requête
+        LocalDateTime instant = LocalDateTime.of(2030, 1, 1, 9, 0);
+        buffer.enregistrer("admin", instant);
+        given(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .willThrow(new QueryTimeoutException("délai dépassé"))
+                .willReturn(new int[]{1});
+
+        // When
+        buffer.ecrire();
+        buffer.enregistrer("admin", instant.minusMinutes(5));
+        buffer.ecrire();
+
+        // Then : la seconde tentative écrit toujours la connexion la plus récente
+        ArgumentCaptor<List<Object[]>> lignes = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), lignes.capture());
+        assertThat(lignes.getAllValues().get(1))
+                .singleElement()
+                .satisfies(ligne -> assertThat(ligne[0]).isEqualTo(Timestamp.valueOf(instant)));
+    }
+
+    @Test
+    void ecrire_shouldNotTouchDatabaseWhenNothingIsPending() {
+        // When
+        buffer.ecrire();
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,103 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.ChangementDisponibilite;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.exception.ServiceIndisponibleException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DisponibiliteFluxTest {
+
+    private static final LocalDateTime DEBUT = LocalDateTime.of(2030, 5, 1, 10, 0);
+    private static final Map<Long, String> TYPES = Map.of(1L, "Yoga", 2L, "Musculation");
+
+    @Test
+    void changements_shouldFreeOldSlotAndOccupyNewOneWhenConfirmedReservationMoves() {
+        // Given
+        EtatReservation avant = etat(1L, DEBUT, Reservation.StatutReservation.CONFIRMEE);
+        EtatReservation apres = etat(2L, DEBUT.plusDays(1), Reservation.StatutReservation.CONFIRMEE);
+
+        // When
+        List<ChangementDisponibilite> changements =
+                DisponibiliteFlux.changements(new ReservationModifieeEvent(avant, apres));
+
+        // Then
+        assertThat(changements).extracting(ChangementDisponibilite::salleId, ChangementDisponibilite::salleType,
+                        ChangementDisponibilite::occupee)
+                .containsExactly(tuple(1L, "Yoga", false),
+                        tuple(2L, "Musculation", true));
+    }
+
+    @Test
+    void changements_shouldIgnoreReservationsThatNeverOccupyTheSalle() {
+        // Given : création d'une réservation en attente
+        EtatReservation enAttente = etat(1L, DEBUT, Reservation.StatutReservation.EN_ATTENTE);
+
+        // When & Then
+        assertThat(DisponibiliteFlux.changements(ReservationModifieeEvent.creation(enAttente))).isEmpty();
+    }
+
+    @Test
+    void abonne_shouldFilterBySalleAndTypeAndDropOldestWhenQueueIsFull() {
+        // Given : écran limité aux salles de yoga, file de 2 changements
+        DisponibiliteFlux.Abonne abonne = new DisponibiliteFlux.Abonne(new SseEmitter(), Set.of(), "yoga", 2);
+        ChangementDisponibilite musculation = new ChangementDisponibilite(9L, 2L, "Musculation", DEBUT, DEBUT.plusHours(1), true);
+
+        // When
+        for (long id = 1; id <= 3; id++) {
+            abonne.offrir(new ChangementDisponibilite(id, 1L, "Yoga", DEBUT, DEBUT.plusHours(1), true));
+        }
+
+        // Then
+        assertThat(abonne.accepte(musculation)).isFalse();
+        assertThat(abonne.resynchronisationDue.get()).isTrue();
+        assertThat(abonne.prendre().reservationId()).isEqualTo(2L);
+        assertThat(abonne.prendre().reservationId()).isEqualTo(3L);
+        assertThat(abonne.prendre()).isNull();
+    }
+
+    @Test
+    void abonne_shouldRequestResynchronisationWhenSerieOfFollowedSalleChanges() {
+        // Given : écran limité à la salle 1
+        DisponibiliteFlux.Abonne abonne = new DisponibiliteFlux.Abonne(new SseEmitter(), Set.of(1L), null, 10);
+
+        // When & Then
+        assertThat(abonne.resynchroniserSiConcerne(2L, "Musculation")).isFalse();
+        assertThat(abonne.resynchronisationDue.get()).isFalse();
+        assertThat(abonne.resynchroniserSiConcerne(1L, "Yoga")).isTrue();
+        assertThat(abonne.resynchronisationDue.get()).isTrue();
+        assertThat(abonne.prendre()).isNull();
+    }
+
+    @Test
+    void abonner_shouldRefuseBeyondCapWithRetryDelay() {
+        // Given : un seul écran autorisé
+        DisponibiliteFlux flux = new DisponibiliteFlux(1);
+        ReflectionTestUtils.setField(flux, "abonnesMax", 1);
+        ReflectionTestUtils.setField(flux, "reessaiSecondes", 45L);
+        flux.abonner(Set.of(), null);
+
+        // When & Then
+        assertThatThrownBy(() -> flux.abonner(Set.of(), null))
+                .isInstanceOf(ServiceIndisponibleException.class)
+                .satisfies(e -> assertThat(((ServiceIndisponibleException) e).getReessaiSecondes()).isEqualTo(45L));
+        assertThat(flux.nombreAbonnes()).isEqualTo(1);
+        flux.arreter();
+    }
+
+    private static EtatReservation etat(Long salleId, LocalDateTime debut, Reservation.StatutReservation statut) {
+        return new EtatReservation(7L, salleId, TYPES.get(salleId), 1L, debut, debut.plusHours(2), statut, 50000.0);
+    }
+}
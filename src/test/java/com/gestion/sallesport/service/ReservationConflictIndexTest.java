@@ -0,0 +1,127 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationConflictIndexTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationConflictIndex index;
+
+    private LocalDateTime demain;
+
+    @BeforeEach
+    void setUp() {
+        demain = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        given(reservationRepository.findEtatsConfirmesFinissantApres(any(LocalDateTime.class)))
+                .willReturn(List.of(etat(1L, 1L, 10, 12, Reservation.StatutReservation.CONFIRMEE)));
+
+        index = new ReservationConflictIndex(reservationRepository);
+        index.reconstruire();
+    }
+
+    @Test
+    void aConflit_shouldDetectOverlapWithConfirmedReservation() {
+        // When & Then
+        assertThat(index.estPret()).isTrue();
+        assertThat(index.aConflit(1L, demain.withHour(11), demain.withHour(13), null)).isTrue();
+        assertThat(index.aConflit(1L, demain.withHour(9), demain.withHour(10), null)).isTrue();
+        assertThat(index.aConflit(1L, demain.withHour(13), demain.withHour(14), null)).isFalse();
+        assertThat(index.aConflit(2L, demain.withHour(11), demain.withHour(13), null)).isFalse();
+    }
+
+    @Test
+    void aConflit_shouldIgnoreExcludedReservation() {
+        // When & Then
+        assertThat(index.aConflit(1L, demain.withHour(11), demain.withHour(13), 1L)).isFalse();
+    }
+
+    @Test
+    void aConflit_shouldFindLongReservationStartingEarlier() {
+        // Given
+        index.surReservationModifiee(ReservationModifieeEvent.creation(
+                etat(2L, 1L, 14, 22, Reservation.StatutReservation.CONFIRMEE)));
+
+        // When & Then
+        assertThat(index.aConflit(1L, demain.withHour(20), demain.withHour(21), null)).isTrue();
+    }
+
+    @Test
+    void surReservationModifiee_shouldFollowStatusTransitions() {
+        // Given
+        EtatReservation enAttente = etat(3L, 1L, 16, 18, Reservation.StatutReservation.EN_ATTENTE);
+        EtatReservation confirmee = etat(3L, 1L, 16, 18, Reservation.StatutReservation.CONFIRMEE);
+        EtatReservation annulee = etat(3L, 1L, 16, 18, Reservation.StatutReservation.ANNULEE);
+
+        // When & Then
+        index.surReservationModifiee(ReservationModifieeEvent.creation(enAttente));
+        assertThat(index.aConflit(1L, demain.withHour(17), demain.withHour(17).plusMinutes(30), null)).isFalse();
+
+        index.surReservationModifiee(new ReservationModifieeEvent(enAttente, confirmee));
+        assertThat(index.aConflit(1L, demain.withHour(17), demain.withHour(17).plusMinutes(30), null)).isTrue();
+
+        index.surReservationModifiee(new ReservationModifieeEvent(confirmee, annulee));
+        assertThat(index.aConflit(1L, demain.withHour(17), demain.withHour(17).plusMinutes(30), null)).isFalse();
+    }
+
+    @Test
+    void surReservationModifiee_shouldMoveReservationBetweenSalles() {
+        // Given
+        EtatReservation salle1 = etat(1L, 1L, 10, 12, Reservation.StatutReservation.CONFIRMEE);
+        EtatReservation salle2 = etat(1L, 2L, 10, 12, Reservation.StatutReservation.CONFIRMEE);
+
+        // When
+        index.surReservationModifiee(new ReservationModifieeEvent(salle1, salle2));
+
+        // Then
+        assertThat(index.aConflit(1L, demain.withHour(11), demain.withHour(13), null)).isFalse();
+        assertThat(index.aConflit(2L, demain.withHour(11), demain.withHour(13), null)).isTrue();
+    }
+
+    @Test
+    void surReservationModifiee_shouldUpdateIndexBeforeSalleLockIsReleased() {
+        // Given : transaction en cours, salle verrouillée
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            new SalleLockStripes(1).verrouillerJusquaFinTransaction(1L);
+            index.surReservationModifiee(ReservationModifieeEvent.creation(
+                    etat(4L, 1L, 20, 21, Reservation.StatutReservation.CONFIRMEE)));
+            assertThat(index.aConflit(1L, demain.withHour(20), demain.withHour(21), null)).isFalse();
+
+            // When : même ordre que le gestionnaire de transactions au commit
+            List<TransactionSynchronization> synchronisations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronisations);
+
+            // Then : visible avant afterCompletion, qui libère le verrou
+            assertThat(index.aConflit(1L, demain.withHour(20), demain.withHour(21), null)).isTrue();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronisations, TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private EtatReservation etat(Long id, Long salleId, int heureDebut, int heureFin, Reservation.StatutReservation statut) {
+        return new EtatReservation(id, salleId, "Musculation", 1L, demain.withHour(heureDebut), demain.withHour(heureFin),
+                statut, 0.0);
+    }
+}
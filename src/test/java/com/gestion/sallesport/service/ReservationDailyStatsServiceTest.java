@@ -0,0 +1,154 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.entity.Reservation.StatutReservation;
+import com.gestion.sallesport.entity.ReservationDailyStat;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationDailyStatRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.service.ReservationDailyStatsService.CleJour;
+import com.gestion.sallesport.service.ReservationDailyStatsService.Delta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationDailyStatsServiceTest {
+
+    @Mock
+    private ReservationDailyStatRepository dailyStatRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private SalleLockStripes salleLocks;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ReservationDailyStatsService statsService;
+
+    private static final LocalDate JOUR = LocalDate.of(2030, 5, 10);
+
+    @Test
+    void accumuler_shouldSplitMinutesAcrossMidnight() {
+        // Given : de 22h30 à 1h le lendemain
+        Map<CleJour, Delta> deltas = new HashMap<>();
+        EtatReservation etat = confirmee(JOUR.atTime(22, 30), JOUR.plusDays(1).atTime(1, 0), 150.0);
+
+        // When
+        ReservationDailyStatsService.accumuler(deltas, etat, 1);
+
+        // Then
+        Delta premierJour = deltas.get(new CleJour(1L, JOUR));
+        Delta lendemain = deltas.get(new CleJour(1L, JOUR.plusDays(1)));
+        assertThat(premierJour.nombre).isEqualTo(1);
+        assertThat(premierJour.minutes).isEqualTo(90);
+        assertThat(premierJour.revenu).isEqualTo(150.0);
+        assertThat(lendemain.nombre).isZero();
+        assertThat(lendemain.minutes).isEqualTo(60);
+    }
+
+    @Test
+    void surReservationModifiee_shouldIgnorePendingReservations() {
+        // Given
+        EtatReservation enAttente = new EtatReservation(7L, 1L, "Musculation", 2L, JOUR.atTime(9, 0), JOUR.atTime(10, 0),
+                StatutReservation.EN_ATTENTE, 50.0);
+
+        // When
+        statsService.surReservationModifiee(ReservationModifieeEvent.creation(enAttente));
+
+        // Then
+        verifyNoInteractions(dailyStatRepository);
+    }
+
+    @Test
+    void surReservationModifiee_shouldInsertRowWhenDayIsNotYetAggregated() {
+        // Given : confirmation d'une réservation d'une heure, hors transaction
+        EtatReservation avant = new EtatReservation(7L, 1L, "Musculation", 2L, JOUR.atTime(9, 0), JOUR.atTime(10, 0),
+                StatutReservation.EN_ATTENTE, 50.0);
+        EtatReservation apres = confirmee(JOUR.atTime(9, 0), JOUR.atTime(10, 0), 50.0);
+        given(dailyStatRepository.incrementer(1L, JOUR, 1, 60, 50.0)).willReturn(0);
+        executerLesTransactions();
+
+        // When
+        statsService.surReservationModifiee(new ReservationModifieeEvent(avant, apres));
+
+        // Then : la salle est verrouillée avant la mise à jour, quel que soit le mode de conflits
+        InOrder ordre = inOrder(salleLocks, dailyStatRepository);
+        ordre.verify(salleLocks).verrouillerJusquaFinTransaction(1L);
+        ordre.verify(dailyStatRepository).incrementer(1L, JOUR, 1, 60, 50.0);
+        ordre.verify(dailyStatRepository).save(any(ReservationDailyStat.class));
+    }
+
+    @Test
+    void surReservationModifiee_shouldRemoveContributionOnCancellation() {
+        // Given
+        EtatReservation avant = confirmee(JOUR.atTime(9, 0), JOUR.atTime(10, 0), 50.0);
+        EtatReservation apres = new EtatReservation(7L, 1L, "Musculation", 2L, JOUR.atTime(9, 0), JOUR.atTime(10, 0),
+                StatutReservation.ANNULEE, 50.0);
+        given(dailyStatRepository.incrementer(1L, JOUR, -1, -60, -50.0)).willReturn(1);
+        executerLesTransactions();
+
+        // When
+        statsService.surReservationModifiee(new ReservationModifieeEvent(avant, apres));
+
+        // Then
+        verify(dailyStatRepository).incrementer(1L, JOUR, -1, -60, -50.0);
+    }
+
+    @Test
+    void reconstruire_shouldHoldEveryStripeBeforeReadingReservations() {
+        // Given
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(reservationRepository.findEtatsConfirmes())
+                .willReturn(List.of(confirmee(JOUR.atTime(9, 0), JOUR.atTime(10, 0), 50.0)));
+
+        // When
+        statsService.reconstruire();
+
+        // Then
+        InOrder ordre = inOrder(salleLocks, reservationRepository, dailyStatRepository);
+        ordre.verify(salleLocks).verrouillerToutesJusquaFinTransaction();
+        ordre.verify(reservationRepository).findEtatsConfirmes();
+        ordre.verify(dailyStatRepository).deleteAllInBatch();
+        ordre.verify(dailyStatRepository).saveAll(anyList());
+    }
+
+    // Hors transaction, le service ouvre la sienne : le callback est exécuté directement
+    private void executerLesTransactions() {
+        willAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).given(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private EtatReservation confirmee(LocalDateTime debut, LocalDateTime fin, double prix) {
+        return new EtatReservation(7L, 1L, "Musculation", 2L, debut, fin, StatutReservation.CONFIRMEE, prix);
+    }
+}
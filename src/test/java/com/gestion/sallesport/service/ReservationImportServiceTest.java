@@ -0,0 +1,174 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.LigneImportReservation;
+import com.gestion.sallesport.dto.ResultatImport;
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Chaque lot est importé dans sa propre transaction, comme en production
+@DataJpaTest
+@Import({ReservationImportService.class, SalleLockStripes.class, SerieReservationService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class ReservationImportServiceTest {
+
+    @Autowired
+    private ReservationImportService importService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Client client;
+
+    private Salle salle;
+
+    private LocalDateTime demain;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+        ReflectionTestUtils.setField(importService, "tailleLot", 500);
+        demain = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        client = clientRepository.findByEmail("import@email.com").orElseGet(() -> {
+            Client nouveau = new Client();
+            nouveau.setNom("Import");
+            nouveau.setPrenom("Test");
+            nouveau.setEmail("import@email.com");
+            nouveau.setTelephone("0123456789");
+            return clientRepository.save(nouveau);
+        });
+        salle = salleRepository.findByType("Import").stream().findFirst().orElseGet(() -> {
+            Salle nouvelle = new Salle();
+            nouvelle.setNom("Salle Import");
+            nouvelle.setType("Import");
+            nouvelle.setCapacite(20);
+            nouvelle.setPrixHeure(25000.0);
+            return salleRepository.save(nouvelle);
+        });
+    }
+
+    @Test
+    void importerCsv_shouldImportValidRowsAndReportInvalidOnesByLineNumber() throws Exception {
+        // Given : en-tête, une ligne valide, une date illisible, une salle inconnue et une ligne vide
+        String csv = String.join("\n",
+                "clientId;salleId;dateDebut;dateFin;statut;remarques",
+                client.getId() + ";" + salle.getId() + ";" + demain + ";" + demain.plusHours(2) + ";CONFIRMEE;Cours collectif",
+                client.getId() + ";" + salle.getId() + ";demain;" + demain.plusHours(3),
+                client.getId() + ";999999;" + demain.plusHours(4) + ";" + demain.plusHours(5),
+                "");
+
+        // When
+        ResultatImport resultat = importService.importerCsv(new StringReader(csv));
+
+        // Then
+        assertThat(resultat.getLignesLues()).isEqualTo(3);
+        assertThat(resultat.getLignesImportees()).isEqualTo(1);
+        assertThat(resultat.getErreurs()).extracting(ResultatImport.ErreurLigne::ligne).containsExactlyInAnyOrder(3, 4);
+        assertThat(resultat.getErreurs()).extracting(ResultatImport.ErreurLigne::message)
+                .anyMatch(message -> message.startsWith("Ligne invalide"))
+                .contains("Salle non trouvée avec l'id : 999999");
+
+        Reservation importee = reservationRepository.findBySalleIdOrderByDateDebutDesc(salle.getId()).get(0);
+        assertThat(importee.getStatut()).isEqualTo(Reservation.StatutReservation.CONFIRMEE);
+        assertThat(importee.getRemarques()).isEqualTo("Cours collectif");
+        assertThat(importee.getPrixTotal()).isEqualTo(50000.0);
+    }
+
+    @Test
+    void importer_shouldRejectRowsConflictingWithEarlierRowsOfSameBatch() {
+        // Given : la deuxième ligne chevauche la première, la troisième la suit sans la toucher
+        List<LigneImportReservation> lignes = List.of(
+                ligne(demain, demain.plusHours(2), null),
+                ligne(demain.plusHours(1), demain.plusHours(3), null),
+                ligne(demain.plusHours(3), demain.plusHours(4), null));
+
+        // When
+        ResultatImport resultat = importService.importer(lignes);
+
+        // Then
+        assertThat(resultat.getLignesImportees()).isEqualTo(2);
+        assertThat(resultat.getErreurs()).containsExactly(
+                new ResultatImport.ErreurLigne(2, ReservationService.MESSAGE_CONFLIT));
+    }
+
+    @Test
+    void importer_shouldPublishCreationEventForEachImportedRowOnly() {
+        // Given
+        List<LigneImportReservation> lignes = List.of(
+                ligne(demain, demain.plusHours(1), null),
+                ligne(demain.minusDays(2), demain.minusDays(2).plusHours(1), null),
+                ligne(demain.plusHours(2), demain.plusHours(3), null));
+
+        // When
+        importService.importer(lignes);
+
+        // Then
+        List<ReservationModifieeEvent> publies = events.stream(ReservationModifieeEvent.class).toList();
+        assertThat(publies).hasSize(2);
+        assertThat(publies).allSatisfy(event -> {
+            assertThat(event.avant()).isNull();
+            assertThat(event.apres().id()).isNotNull();
+            assertThat(event.apres().salleId()).isEqualTo(salle.getId());
+            assertThat(event.apres().estConfirmee()).isTrue();
+        });
+    }
+
+    @Test
+    void importer_shouldRejectWholeBatchWhenInsertFailsAndContinueWithNextBatch() {
+        // Given : lots de 2 lignes ; la remarque trop longue pour la colonne fait échouer l'insertion du premier
+        ReflectionTestUtils.setField(importService, "tailleLot", 2);
+        List<LigneImportReservation> lignes = List.of(
+                ligne(demain, demain.plusHours(1), null),
+                ligne(demain.plusHours(2), demain.plusHours(3), "x".repeat(300)),
+                ligne(demain.plusHours(4), demain.plusHours(5), null));
+
+        // When
+        ResultatImport resultat = importService.importer(lignes);
+
+        // Then
+        assertThat(resultat.getLignesLues()).isEqualTo(3);
+        assertThat(resultat.getLignesImportees()).isEqualTo(1);
+        assertThat(resultat.getErreurs()).extracting(ResultatImport.ErreurLigne::ligne).containsExactly(1, 2);
+        assertThat(resultat.getErreurs()).allMatch(erreur -> erreur.message().startsWith("Lot rejeté"));
+        assertThat(reservationRepository.findBySalleIdOrderByDateDebutDesc(salle.getId()))
+                .extracting(Reservation::getDateDebut)
+                .containsExactly(demain.plusHours(4));
+        assertThat(events.stream(ReservationModifieeEvent.class)).hasSize(1);
+    }
+
+    private LigneImportReservation ligne(LocalDateTime debut, LocalDateTime fin, String remarques) {
+        return new LigneImportReservation(client.getId(), salle.getId(), debut, fin,
+                Reservation.StatutReservation.CONFIRMEE, remarques);
+    }
+}
@@ -0,0 +1,168 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Chaque appel au service s'exécute dans sa propre transaction, comme en production
+@DataJpaTest
+@Import({ReservationService.class, ReservationConflictIndex.class, SalleLockStripes.class, SerieReservationService.class,
+        SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReservationServiceConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationServiceConcurrencyTest.class);
+
+    private static final int NOMBRE_SALLES = 50;
+    private static final int NOMBRE_TENTATIVES = 2000;
+    private static final int NOMBRE_THREADS = 16;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SalleLockStripes salleLocks;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private List<Salle> salles;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository.deleteAll();
+
+        client = clientRepository.findByEmail("concurrence@email.com").orElseGet(() -> {
+            Client nouveau = new Client();
+            nouveau.setNom("Concurrence");
+            nouveau.setPrenom("Test");
+            nouveau.setEmail("concurrence@email.com");
+            nouveau.setTelephone("0123456789");
+            return clientRepository.save(nouveau);
+        });
+
+        salles = salleRepository.findAll();
+        for (int i = salles.size(); i < NOMBRE_SALLES; i++) {
+            Salle salle = new Salle();
+            salle.setNom("Salle " + i);
+            salle.setType("Musculation");
+            salle.setCapacite(20);
+            salle.setPrixHeure(25000.0);
+            salles.add(salleRepository.save(salle));
+        }
+    }
+
+    @Test
+    void createReservation_underConcurrentLoad_shouldNeverDoubleBook() throws Exception {
+        // Given : référence avec une seule bande, soit un verrou global
+        ReservationService cible = AopTestUtils.getTargetObject(reservationService);
+        ReflectionTestUtils.setField(cible, "salleLocks", new SalleLockStripes(1));
+        LocalDateTime jourReference = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        // When
+        double debitGlobal;
+        try {
+            debitGlobal = reserverEnParallele(jourReference);
+        } finally {
+            ReflectionTestUtils.setField(cible, "salleLocks", salleLocks);
+        }
+        double debitReparti = reserverEnParallele(jourReference.plusDays(1));
+
+        // Then
+        log.info("Débit verrou global : {} réservations/s, verrous par salle ({} bandes) : {} réservations/s",
+                String.format("%.0f", debitGlobal), salleLocks.nombreBandes(), String.format("%.0f", debitReparti));
+
+        for (Salle salle : salles) {
+            List<Reservation> confirmees = new ArrayList<>(reservationRepository.findBySalleIdOrderByDateDebutDesc(salle.getId()));
+            confirmees.removeIf(r -> r.getStatut() != Reservation.StatutReservation.CONFIRMEE);
+            confirmees.sort(Comparator.comparing(Reservation::getDateDebut));
+
+            for (int i = 1; i < confirmees.size(); i++) {
+                assertThat(confirmees.get(i).getDateDebut())
+                        .as("Double réservation de la salle %s", salle.getNom())
+                        .isAfter(confirmees.get(i - 1).getDateFin());
+            }
+        }
+    }
+
+    // Réservations d'une heure, décalées d'une demi-heure : la moitié des tentatives se chevauchent
+    private double reserverEnParallele(LocalDateTime jour) throws Exception {
+        Random random = new Random(42);
+        AtomicInteger conflits = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(NOMBRE_THREADS);
+
+        long debut = System.nanoTime();
+        try {
+            List<Future<?>> resultats = new ArrayList<>();
+            for (int i = 0; i < NOMBRE_TENTATIVES; i++) {
+                Salle salle = salles.get(i % NOMBRE_SALLES);
+                LocalDateTime dateDebut = jour.plusMinutes(30L * random.nextInt(24));
+                resultats.add(executor.submit(() -> {
+                    try {
+                        reservationService.createReservation(nouvelleReservation(salle, dateDebut));
+                    } catch (RuntimeException e) {
+                        // Seul le refus pour chevauchement est attendu : toute autre erreur fait échouer le test
+                        if (!ReservationService.MESSAGE_CONFLIT.equals(e.getMessage())) {
+                            throw e;
+                        }
+                        conflits.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> resultat : resultats) {
+                resultat.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        double secondes = (System.nanoTime() - debut) / 1_000_000_000.0;
+
+        assertThat(conflits.get()).isPositive();
+        return NOMBRE_TENTATIVES / secondes;
+    }
+
+    private Reservation nouvelleReservation(Salle salle, LocalDateTime dateDebut) {
+        Reservation reservation = new Reservation();
+        reservation.setClient(client);
+        reservation.setSalle(salle);
+        reservation.setDateDebut(dateDebut);
+        reservation.setDateFin(dateDebut.plusHours(1));
+        reservation.setStatut(Reservation.StatutReservation.CONFIRMEE);
+        return reservation;
+    }
+}
@@ -0,0 +1,127 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.config.MetricsConfig;
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// Mode "contrainte" : la base tranche les chevauchements, le service traduit la violation
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private SalleRepository salleRepository;
+
+    @Mock
+    private ReservationConflictIndex conflictIndex;
+
+    @Mock
+    private SalleLockStripes salleLocks;
+
+    @Mock
+    private SerieReservationService serieService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReservationService reservationService;
+
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reservationService = new ReservationService(reservationRepository, clientRepository, salleRepository,
+                conflictIndex, salleLocks, serieService, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(reservationService, "modeConflits", "contrainte");
+
+        Salle salle = new Salle();
+        salle.setId(1L);
+        salle.setPrixHeure(25000.0);
+        Client client = new Client();
+        client.setId(2L);
+        LocalDateTime debut = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        reservation = new Reservation();
+        reservation.setSalle(salle);
+        reservation.setClient(client);
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(debut.plusHours(1));
+        reservation.setStatut(Reservation.StatutReservation.CONFIRMEE);
+    }
+
+    @Test
+    void createReservation_shouldTranslateExclusionViolationToConflict() {
+        // Given
+        given(reservationRepository.saveAndFlush(any(Reservation.class))).willThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        // When & Then
+        assertThatThrownBy(() -> reservationService.createReservation(reservation))
+                .isInstanceOf(RuntimeException.class)
+                .isNotInstanceOf(DataIntegrityViolationException.class)
+                .hasMessage(ReservationService.MESSAGE_CONFLIT);
+        assertThat(meterRegistry.counter(MetricsConfig.COMPTEUR_CONFLITS, "detection", "contrainte").count())
+                .isEqualTo(1.0);
+        verify(reservationRepository, never()).existsConflictingReservation(any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createReservation_shouldRethrowOtherIntegrityViolations() {
+        // Given : clé étrangère violée, pas un chevauchement
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("insert or update violates foreign key constraint", "23503"));
+        given(reservationRepository.saveAndFlush(any(Reservation.class))).willThrow(violation);
+
+        // When & Then
+        assertThatThrownBy(() -> reservationService.createReservation(reservation)).isSameAs(violation);
+        assertThat(meterRegistry.find(MetricsConfig.COMPTEUR_CONFLITS).counter()).isNull();
+    }
+
+    @Test
+    void createReservation_shouldLockSalleInConstraintModeForSeriesCheck() {
+        // Given
+        given(reservationRepository.saveAndFlush(any(Reservation.class))).willReturn(reservation);
+        reservation.setId(5L);
+
+        // When
+        reservationService.createReservation(reservation);
+
+        // Then : la contrainte ne voit pas les séries, le verrou de la salle couvre leur vérification
+        verify(salleLocks).verrouillerJusquaFinTransaction(1L);
+        verify(serieService).aConflit(1L, reservation.getDateDebut(), reservation.getDateFin());
+    }
+}
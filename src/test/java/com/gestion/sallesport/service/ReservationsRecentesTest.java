@@ -0,0 +1,76 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.OrdreRecence;
+import com.gestion.sallesport.dto.ReservationRow;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationsRecentesTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @InjectMocks
+    private ReservationsRecentes reservationsRecentes;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationsRecentes, "capacite", 3);
+        given(reservationRepository.findRecentes(OrdreRecence.CREATION, 3)).willReturn(List.of(ligne(3L), ligne(2L), ligne(1L)));
+        reservationsRecentes.initialiser();
+    }
+
+    @Test
+    void dernieres_shouldServeLatestCreationsFromRingBuffer() {
+        // Given : deux créations, la plus ancienne (1) sort du tampon
+        reservationsRecentes.surReservationModifiee(ReservationModifieeEvent.creation(etat(4L)));
+        reservationsRecentes.surReservationModifiee(ReservationModifieeEvent.creation(etat(5L)));
+        given(reservationRepository.findRowsByIds(List.of(5L, 4L, 3L))).willReturn(List.of(ligne(3L), ligne(5L), ligne(4L)));
+
+        // When
+        List<ReservationRow> dernieres = reservationsRecentes.dernieres(OrdreRecence.CREATION, 3);
+
+        // Then : ordre de création conservé ; seule la requête triée de l'initialisation a été exécutée
+        assertThat(dernieres).extracting(ReservationRow::getId).containsExactly(5L, 4L, 3L);
+        verify(reservationRepository, times(1)).findRecentes(OrdreRecence.CREATION, 3);
+    }
+
+    @Test
+    void dernieres_shouldFallBackToIndexedQueryWhenBufferIsShort() {
+        // Given : une suppression laisse 2 identifiants pour 3 demandés
+        reservationsRecentes.surReservationModifiee(ReservationModifieeEvent.suppression(etat(2L)));
+        given(reservationRepository.findRecentes(OrdreRecence.CREATION, 3)).willReturn(List.of(ligne(3L), ligne(1L), ligne(0L)));
+
+        // When
+        List<ReservationRow> dernieres = reservationsRecentes.dernieres(OrdreRecence.CREATION, 3);
+
+        // Then
+        assertThat(dernieres).extracting(ReservationRow::getId).containsExactly(3L, 1L, 0L);
+    }
+
+    private static ReservationRow ligne(Long id) {
+        return new ReservationRow(id, null, null, Reservation.StatutReservation.CONFIRMEE, null,
+                null, null, null, null, null, null, null);
+    }
+
+    private static EtatReservation etat(Long id) {
+        return new EtatReservation(id, 1L, "Musculation", 1L, null, null, Reservation.StatutReservation.EN_ATTENTE, 0.0);
+    }
+}
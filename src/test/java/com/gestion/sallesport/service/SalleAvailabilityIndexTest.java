@@ -0,0 +1,101 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class SalleAvailabilityIndexTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private SalleAvailabilityIndex index;
+
+    private LocalDateTime demain;
+
+    @BeforeEach
+    void setUp() {
+        demain = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        given(reservationRepository.findEtatsConfirmesFinissantApres(any(LocalDateTime.class)))
+                .willReturn(List.of(confirmee(1L, demain.withHour(10), demain.withHour(12))));
+
+        index = new SalleAvailabilityIndex(reservationRepository);
+        index.reconstruire();
+    }
+
+    @Test
+    void masque_shouldCoverSlotsAcrossWords() {
+        // When
+        long[] masque = SalleAvailabilityIndex.masque(60, 67);
+
+        // Then
+        assertThat(Long.bitCount(masque[0]) + Long.bitCount(masque[1])).isEqualTo(8);
+        assertThat(masque[0] >>> 60).isEqualTo(0xFL);
+        assertThat(masque[1]).isEqualTo(0xFL);
+    }
+
+    @Test
+    void estLibre_shouldFollowInclusiveBoundaries() {
+        // When & Then
+        assertThat(index.estLibre(1L, demain.withHour(11), demain.withHour(13))).isFalse();
+        assertThat(index.estLibre(1L, demain.withHour(12), demain.withHour(13))).isFalse();
+        assertThat(index.estLibre(1L, demain.withHour(12).withMinute(15), demain.withHour(13))).isTrue();
+        assertThat(index.estLibre(2L, demain.withHour(11), demain.withHour(13))).isTrue();
+    }
+
+    @Test
+    void estLibre_shouldConfirmPartiallyCoveredBoundarySlotsExactly() {
+        // Given : 10h-12h occupe le créneau 12h00-12h15, 14h05-15h celui de 14h00-14h15
+        index.surReservationModifiee(ReservationModifieeEvent.creation(
+                confirmee(2L, demain.withHour(14).withMinute(5), demain.withHour(15))));
+
+        // When & Then : début quelques minutes après une fin, fin quelques minutes avant un début
+        assertThat(index.estLibre(1L, demain.withHour(12).withMinute(5), demain.withHour(13))).isTrue();
+        assertThat(index.estLibre(1L, demain.withHour(13), demain.withHour(14).withMinute(2))).isTrue();
+        assertThat(index.estLibre(1L, demain.withHour(11).withMinute(55), demain.withHour(12).withMinute(10))).isFalse();
+        assertThat(index.estLibre(1L, demain.withHour(13), demain.withHour(14).withMinute(5))).isFalse();
+    }
+
+    @Test
+    void estLibre_shouldHandleReservationsSpanningMidnight() {
+        // Given
+        index.surReservationModifiee(ReservationModifieeEvent.creation(
+                confirmee(2L, demain.withHour(22), demain.plusDays(1).withHour(2))));
+
+        // When & Then
+        assertThat(index.estLibre(1L, demain.plusDays(1).withHour(1), demain.plusDays(1).withHour(3))).isFalse();
+        assertThat(index.estLibre(1L, demain.plusDays(1).withHour(3), demain.plusDays(1).withHour(4))).isTrue();
+    }
+
+    @Test
+    void surReservationModifiee_shouldKeepSlotsStillUsedByAnotherReservation() {
+        // Given
+        EtatReservation chevauchante = confirmee(3L, demain.withHour(11), demain.withHour(14));
+        index.surReservationModifiee(ReservationModifieeEvent.creation(chevauchante));
+
+        // When
+        index.surReservationModifiee(ReservationModifieeEvent.suppression(chevauchante));
+
+        // Then
+        assertThat(index.estLibre(1L, demain.withHour(11), demain.withHour(11).withMinute(30))).isFalse();
+        assertThat(index.estLibre(1L, demain.withHour(13), demain.withHour(14))).isTrue();
+    }
+
+    private EtatReservation confirmee(Long id, LocalDateTime debut, LocalDateTime fin) {
+        return new EtatReservation(id, 1L, "Musculation", 1L, debut, fin, Reservation.StatutReservation.CONFIRMEE, 0.0);
+    }
+}
@@ -0,0 +1,46 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.StatistiquesSalle;
+import com.gestion.sallesport.dto.TauxOccupation;
+import com.gestion.sallesport.repository.ReservationDailyStatRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class SalleOccupationServiceTest {
+
+    @Mock
+    private ReservationDailyStatRepository dailyStatRepository;
+
+    @InjectMocks
+    private SalleOccupationService occupationService;
+
+    @Test
+    void tauxParSalle_shouldDivideBookedMinutesByOpenMinutes() {
+        // Given : fenêtre par défaut de 31 jours ouverts 16 h, soit 29 760 minutes
+        LocalDate aujourdhui = LocalDate.now();
+        given(dailyStatRepository.sumParSalle(aujourdhui.minusDays(30), aujourdhui.plusDays(1)))
+                .willReturn(List.of(
+                        new StatistiquesSalle(1L, 40L, 7440L, 0.0),
+                        new StatistiquesSalle(2L, 500L, 40000L, 0.0)));
+
+        // When
+        Map<Long, TauxOccupation> taux = occupationService.tauxParSalle();
+
+        // Then
+        assertThat(taux.get(1L).minutesOuvertes()).isEqualTo(29760);
+        assertThat(taux.get(1L).taux()).isEqualTo(25.0);
+        assertThat(taux.get(2L).taux()).isEqualTo(100.0);
+        assertThat(occupationService.tauxOuZero(taux, 3L)).isZero();
+    }
+}
@@ -1,6 +1,12 @@
 package com.gestion.sallesport.service;
 
+import com.gestion.sallesport.dto.FicheSalle;
+import com.gestion.sallesport.dto.TauxOccupation;
+import com.gestion.sallesport.entity.Reservation;
 import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.event.ReservationModifieeEvent;
+import com.gestion.sallesport.repository.ReservationRepository;
 import com.gestion.sallesport.repository.SalleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,9 +14,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +35,18 @@ class SalleServiceTest {
     @Mock
     private SalleRepository salleRepository;
 
+    @Mock
+    private SalleOccupationService occupationService;
+
+    @Mock
+    private CatalogueSalles catalogue;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SalleService salleService;
 
@@ -56,17 +77,35 @@ class SalleServiceTest {
         assertThat(result.get(0)).isEqualTo(salle);
     }
 
+    @Test
+    void getFichesSalles_shouldSetOccupancyOnCopiesOfCachedFiches() {
+        // Given
+        FicheSalle enCache = FicheSalle.of(salle);
+        given(catalogue.toutes()).willReturn(List.of(enCache));
+        given(occupationService.tauxParSalle()).willReturn(Map.of());
+        given(occupationService.tauxOuZero(Map.of(), 1L)).willReturn(42.0);
+
+        // When
+        List<FicheSalle> result = salleService.getFichesSalles();
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getNom()).isEqualTo("Salle Test");
+        assertThat(result.get(0).getOccupancyRate()).isEqualTo(42.0);
+        assertThat(enCache.getOccupancyRate()).isZero();
+    }
+
     @Test
     void getSalleById_withValidId_shouldReturnSalle() {
         // Given
         given(salleRepository.findById(1L)).willReturn(Optional.of(salle));
+        given(occupationService.tauxSalle(1L)).willReturn(new TauxOccupation(1L, 0, 0, 0.0));
 
         // When
-        Optional<Salle> result = salleService.getSalleById(1L);
+        Salle result = salleService.getSalleById(1L);
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(salle);
+        assertThat(result).isEqualTo(salle);
     }
 
     @Test
@@ -129,6 +168,22 @@ class SalleServiceTest {
         verify(salleRepository).delete(salle);
     }
 
+    @Test
+    void deleteSalle_shouldPublishRemovalOfCascadedReservations() {
+        // Given
+        EtatReservation etat = new EtatReservation(7L, 1L, "Musculation", 3L, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(1).plusHours(1), Reservation.StatutReservation.CONFIRMEE, 25000.0);
+        given(salleRepository.findById(1L)).willReturn(Optional.of(salle));
+        given(reservationRepository.findEtatsBySalleId(1L)).willReturn(List.of(etat));
+
+        // When
+        salleService.deleteSalle(1L);
+
+        // Then
+        verify(eventPublisher).publishEvent(ReservationModifieeEvent.suppression(etat));
+        verify(salleRepository).delete(salle);
+    }
+
     @Test
     void deleteSalle_withInvalidId_shouldThrowException() {
         // Given
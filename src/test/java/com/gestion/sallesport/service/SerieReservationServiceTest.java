@@ -0,0 +1,186 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.dto.DemandeSerie;
+import com.gestion.sallesport.entity.Client;
+import com.gestion.sallesport.entity.Reservation;
+import com.gestion.sallesport.entity.Salle;
+import com.gestion.sallesport.entity.SerieReservation;
+import com.gestion.sallesport.event.EtatReservation;
+import com.gestion.sallesport.exception.ConflitReservationException;
+import com.gestion.sallesport.exception.RequeteInvalideException;
+import com.gestion.sallesport.repository.ClientRepository;
+import com.gestion.sallesport.repository.ReservationRepository;
+import com.gestion.sallesport.repository.SalleRepository;
+import com.gestion.sallesport.repository.SerieReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SerieReservationServiceTest {
+
+    @Mock
+    private SerieReservationRepository serieRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private SalleRepository salleRepository;
+
+    @Mock
+    private SalleLockStripes salleLocks;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private SerieReservationService serieService;
+
+    private LocalDateTime premierDebut;
+
+    @BeforeEach
+    void setUp() {
+        // Rafraîchissement des séries confirmées enregistré pour après le commit
+        TransactionSynchronizationManager.initSynchronization();
+
+        Salle salle = new Salle();
+        salle.setId(1L);
+        salle.setType("Yoga");
+        salle.setPrixHeure(20000.0);
+        Client client = new Client();
+        client.setId(2L);
+        given(salleRepository.findById(1L)).willReturn(Optional.of(salle));
+        given(clientRepository.findById(2L)).willReturn(Optional.of(client));
+
+        premierDebut = LocalDateTime.now().plusDays(7).withHour(18).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void createSerie_shouldRejectOverlapWithSingleReservation() {
+        // Given : réservation simple à la dixième séance, entre 18h30 et 19h
+        LocalDateTime dixieme = premierDebut.plusWeeks(9);
+        given(reservationRepository.findEtatsConfirmesPourSalles(anyCollection(), any(), any())).willReturn(List.of(
+                etat(dixieme.plusMinutes(30), dixieme.plusMinutes(60))));
+
+        // When & Then
+        assertThatThrownBy(() -> serieService.createSerie(demande(premierDebut, 52)))
+                .isInstanceOf(ConflitReservationException.class)
+                .hasMessageContaining("réservation n°10");
+        verify(serieRepository, never()).save(any());
+    }
+
+    @Test
+    void createSerie_shouldRejectOverlapWithConfirmedSerie() {
+        // Given : une séance toutes les deux semaines, qui tombe sur la troisième séance de la nouvelle série
+        SerieReservation existante = serie(20L, premierDebut.plusWeeks(2).plusMinutes(45), 14);
+        given(serieRepository.findBySalleIdAndStatut(1L, Reservation.StatutReservation.CONFIRMEE))
+                .willReturn(List.of(existante));
+
+        // When & Then
+        assertThatThrownBy(() -> serieService.createSerie(demande(premierDebut, 52)))
+                .isInstanceOf(ConflitReservationException.class)
+                .hasMessageContaining("série n°20");
+    }
+
+    @Test
+    void createSerie_shouldAcceptSerieOnOtherDays() {
+        // Given : même horaire, mais le lendemain de chaque séance
+        given(serieRepository.findBySalleIdAndStatut(1L, Reservation.StatutReservation.CONFIRMEE))
+                .willReturn(List.of(serie(20L, premierDebut.plusDays(1), 7)));
+        given(serieRepository.save(any())).will(returnsFirstArg());
+
+        // When
+        SerieReservation creee = serieService.createSerie(demande(premierDebut, 52));
+
+        // Then
+        assertThat(creee.getStatut()).isEqualTo(Reservation.StatutReservation.CONFIRMEE);
+    }
+
+    @Test
+    void createSerie_withoutEnd_shouldCheckEveryFutureReservation() {
+        // Given : série sans fin, réservation simple dans vingt ans un jour de séance
+        LocalDateTime lointaine = premierDebut.plusWeeks(52 * 20);
+        given(reservationRepository.findEtatsConfirmesPourSalleApres(1L, premierDebut)).willReturn(List.of(
+                etat(lointaine.plusMinutes(15), lointaine.plusMinutes(45))));
+
+        // When & Then
+        assertThatThrownBy(() -> serieService.createSerie(demande(premierDebut, null)))
+                .isInstanceOf(ConflitReservationException.class)
+                .hasMessageContaining("réservation n°10");
+        verify(reservationRepository, never()).findEtatsConfirmesPourSalles(anyCollection(), any(), any());
+    }
+
+    @Test
+    void createSerie_startingYearsAhead_shouldStillBeChecked() {
+        // Given : deux séries sans fin qui commencent dans plus de cinq ans, la même semaine
+        LocalDateTime lointain = premierDebut.plusWeeks(52 * 5);
+        given(serieRepository.findBySalleIdAndStatut(1L, Reservation.StatutReservation.CONFIRMEE))
+                .willReturn(List.of(serie(20L, lointain.plusWeeks(3).plusMinutes(60), 7)));
+
+        // When & Then
+        assertThatThrownBy(() -> serieService.createSerie(demande(lointain, null)))
+                .isInstanceOf(ConflitReservationException.class)
+                .hasMessageContaining("série n°20");
+    }
+
+    @Test
+    void createSerie_shouldRejectInvalidRuleAsBadRequest() {
+        // Given : séance plus longue que la période quotidienne
+        DemandeSerie demande = new DemandeSerie(2L, 1L, premierDebut, 24 * 60, SerieReservation.Frequence.QUOTIDIENNE,
+                1, null, null, Reservation.StatutReservation.CONFIRMEE, null);
+
+        // When & Then
+        assertThatThrownBy(() -> serieService.createSerie(demande))
+                .isInstanceOf(RequeteInvalideException.class);
+    }
+
+    // Séance hebdomadaire de 18h à 19h30, confirmée d'emblée
+    private DemandeSerie demande(LocalDateTime debut, Integer nombreOccurrences) {
+        return new DemandeSerie(2L, 1L, debut, 90, SerieReservation.Frequence.HEBDOMADAIRE, 1, null,
+                nombreOccurrences, Reservation.StatutReservation.CONFIRMEE, null);
+    }
+
+    // Série confirmée sans fin d'une heure, tous les periodeJours jours
+    private SerieReservation serie(Long id, LocalDateTime debut, int periodeJours) {
+        SerieReservation serie = new SerieReservation();
+        serie.setId(id);
+        serie.setPremierDebut(debut);
+        serie.setDureeMinutes(60);
+        serie.setFrequence(SerieReservation.Frequence.QUOTIDIENNE);
+        serie.setIntervalle(periodeJours);
+        serie.setStatut(Reservation.StatutReservation.CONFIRMEE);
+        return serie;
+    }
+
+    private EtatReservation etat(LocalDateTime debut, LocalDateTime fin) {
+        return new EtatReservation(10L, 1L, "Yoga", 3L, debut, fin, Reservation.StatutReservation.CONFIRMEE, 10000.0);
+    }
+}
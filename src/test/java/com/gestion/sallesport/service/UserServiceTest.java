@@ -0,0 +1,77 @@
+package com.gestion.sallesport.service;
+
+import com.gestion.sallesport.config.CacheConfig;
+import com.gestion.sallesport.entity.User;
+import com.gestion.sallesport.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HachageMotDePasse hachageMotDePasse;
+
+    @Mock
+    private DerniereConnexionBuffer derniereConnexionBuffer;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.UTILISATEURS);
+        userService = new UserService(userRepository, hachageMotDePasse, derniereConnexionBuffer, cacheManager);
+    }
+
+    @Test
+    void createUserAsync_shouldReturnFailedFutureWhenUsernameExists() {
+        // Given
+        given(userRepository.existsByUsername("admin")).willReturn(true);
+
+        // When
+        CompletableFuture<User> resultat = userService.createUserAsync("admin", "secret", "Admin", User.Role.ADMIN);
+
+        // Then : aucune exception synchrone, l'erreur est portée par le future
+        assertThat(resultat).isCompletedExceptionally();
+        assertThatThrownBy(resultat::join)
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("L'utilisateur existe déjà: admin");
+        verifyNoInteractions(hachageMotDePasse);
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void createUserAsync_shouldEvictCachedUserOnceSaved() {
+        // Given : UserDetails périmé en cache
+        cacheManager.getCache(CacheConfig.UTILISATEURS).put("accueil", new User());
+        given(hachageMotDePasse.encoder("secret")).willReturn(CompletableFuture.completedFuture("{bcrypt}hash"));
+        given(userRepository.save(any(User.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        User cree = userService.createUserAsync("accueil", "secret", "Accueil", User.Role.ADMIN).join();
+
+        // Then
+        assertThat(cree.getPassword()).isEqualTo("{bcrypt}hash");
+        assertThat(cacheManager.getCache(CacheConfig.UTILISATEURS).get("accueil")).isNull();
+    }
+}
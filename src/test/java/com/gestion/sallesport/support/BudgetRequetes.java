@@ -0,0 +1,39 @@
+package com.gestion.sallesport.support;
+
+import com.gestion.sallesport.config.CompteurRequetesSql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Budget d'instructions SQL dans les tests : compte ce qu'Hibernate émet sur le thread du test
+// (MockMvc exécute la requête, rendu de la vue compris, sur ce même thread).
+//   BudgetRequetes.verifier(5, () -> mockMvc.perform(get("/dashboard")));
+public final class BudgetRequetes {
+
+    private BudgetRequetes() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void executer() throws Exception;
+    }
+
+    public static CompteurRequetesSql.Mesure mesurer(Action action) throws Exception {
+        CompteurRequetesSql.demarrer();
+        try {
+            action.executer();
+        } catch (Exception | Error e) {
+            CompteurRequetesSql.arreter();
+            throw e;
+        }
+        return CompteurRequetesSql.arreter();
+    }
+
+    // Échoue en listant les formes de requêtes (et leur nombre d'exécutions) si le budget est dépassé
+    public static CompteurRequetesSql.Mesure verifier(int budget, Action action) throws Exception {
+        CompteurRequetesSql.Mesure mesure = mesurer(action);
+        assertThat(mesure.nombre())
+                .as("Budget de %d instructions SQL dépassé : %s", budget, mesure.resume())
+                .isLessThanOrEqualTo(budget);
+        return mesure;
+    }
+}